@@ -0,0 +1,52 @@
+// Teste de carga das consultas de assinatura ativa (k6).
+//
+// Compare a mesma carga com e sem virtual threads:
+//   SPRING_PROFILES_ACTIVE=dev                  mvn spring-boot:run
+//   SPRING_PROFILES_ACTIVE=dev,virtual-threads  mvn spring-boot:run
+//   k6 run -e USER_IDS=<uuid1>,<uuid2>,... -e RATE=2000 scripts/load-test/active-subscriptions.js
+//
+// Compare "http_req_duration", "dropped_iterations" e o pico de "vus" entre as duas execuções.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/subscription-management/api';
+const USER_IDS = (__ENV.USER_IDS || '').split(',').filter((id) => id.length > 0);
+const RATE = parseInt(__ENV.RATE || '2000', 10);
+
+export const options = {
+  scenarios: {
+    active_subscriptions: {
+      executor: 'ramping-arrival-rate',
+      startRate: Math.max(1, Math.floor(RATE / 10)),
+      timeUnit: '1s',
+      preAllocatedVUs: 500,
+      maxVUs: 5000,
+      stages: [
+        { target: RATE, duration: '1m' },
+        { target: RATE, duration: '3m' },
+        { target: 0, duration: '30s' },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    http_req_duration: ['p(95)<200', 'p(99)<500'],
+  },
+};
+
+export function setup() {
+  if (USER_IDS.length === 0) {
+    throw new Error('Informe os usuários com -e USER_IDS=<uuid1>,<uuid2>,...');
+  }
+}
+
+export default function () {
+  const userId = USER_IDS[Math.floor(Math.random() * USER_IDS.length)];
+  const response = Math.random() < 0.5
+    ? http.get(`${BASE_URL}/active-subscriptions/${userId}`, { tags: { name: 'active-subscription' } })
+    : http.get(`${BASE_URL}/active-subscriptions/${userId}/entitlement`, { tags: { name: 'entitlement' } });
+
+  check(response, {
+    'status 200 ou 404': (r) => r.status === 200 || r.status === 404,
+  });
+}
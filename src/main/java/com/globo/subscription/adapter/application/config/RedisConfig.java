@@ -1,9 +1,17 @@
 package com.globo.subscription.adapter.application.config;
 
+import com.globo.subscription.adapter.integration.redis.ActiveSubscriptionNearCache;
+import com.globo.subscription.adapter.integration.redis.codec.ActiveSubscriptionBinaryCodec;
+import com.globo.subscription.adapter.integration.redis.codec.ActiveSubscriptionJsonCodec;
+import com.globo.subscription.adapter.integration.redis.dto.ActiveSubscriptionCacheEntry;
+import com.globo.subscription.adapter.integration.wallet.CachingWalletAdapter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -21,4 +29,29 @@ public class RedisConfig {
         template.setHashValueSerializer(serializer);
         return template;
     }
+
+    @Bean
+    public RedisTemplate<String, ActiveSubscriptionCacheEntry> activeSubscriptionRedisTemplate(
+            RedisConnectionFactory connectionFactory,
+            @Value("${redis.cache.codec:json}") String codec) {
+        RedisSerializer<ActiveSubscriptionCacheEntry> serializer = "binary".equalsIgnoreCase(codec)
+                ? new ActiveSubscriptionBinaryCodec()
+                : new ActiveSubscriptionJsonCodec();
+        RedisTemplate<String, ActiveSubscriptionCacheEntry> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(serializer);
+        return template;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       ActiveSubscriptionNearCache nearCache,
+                                                                       CachingWalletAdapter walletCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(nearCache, new ChannelTopic(nearCache.getInvalidationChannel()));
+        container.addMessageListener(walletCache, new ChannelTopic(walletCache.getInvalidationChannel()));
+        return container;
+    }
 }
@@ -1,58 +1,216 @@
 package com.globo.subscription.adapter.datasource.database;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
-import org.springframework.data.domain.PageRequest;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.globo.subscription.adapter.datasource.database.entity.SubscriptionEntity;
 import com.globo.subscription.adapter.datasource.database.mapper.SubscriptionMapper;
 import com.globo.subscription.adapter.datasource.database.repository.subscription.SubscriptionRepository;
+import com.globo.subscription.core.domain.RenewalCursor;
 import com.globo.subscription.core.domain.Subscription;
 import com.globo.subscription.core.domain.enums.SubscriptionStatus;
+import com.globo.subscription.core.exception.ActiveSubscriptionAlreadyExistsException;
+import com.globo.subscription.core.exception.SubscriptionAlreadyUpdatedException;
 import com.globo.subscription.core.port.out.subscription.SubscriptionRepositoryPort;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 
 @Component
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class SubscriptionDatabaseAdapter implements SubscriptionRepositoryPort {
 
+    private static final String ACTIVE_USER_INDEX = "idx_subscription_active_user";
+
+    @Value("${renewal.lease.owner:${HOSTNAME:subscription-management}}")
+    private String leaseOwner;
+
+    @Value("${renewal.lease.duration-seconds:300}")
+    private long leaseDurationSeconds;
+
     private final SubscriptionRepository subscriptionRepository;
     private final SubscriptionMapper subscriptionMapper;
 
+    /**
+     * Flushes immediately so a stale version is reported here, as a
+     * {@link SubscriptionAlreadyUpdatedException}, and a second live subscription for the user as an
+     * {@link ActiveSubscriptionAlreadyExistsException}, rather than at commit time.
+     */
     @Override
     public Subscription save(Subscription subscription) {
         SubscriptionEntity entity = subscriptionMapper.toEntity(subscription);
-        SubscriptionEntity savedEntity = subscriptionRepository.save(entity);
-        return subscriptionMapper.toDomain(savedEntity);
+        try {
+            SubscriptionEntity savedEntity = subscriptionRepository.saveAndFlush(entity);
+            return subscriptionMapper.toDomain(savedEntity);
+        } catch (OptimisticLockingFailureException e) {
+            throw new SubscriptionAlreadyUpdatedException("Assinatura " + subscription.getId() + " foi alterada por outra requisição.");
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, ACTIVE_USER_INDEX)) {
+                throw new ActiveSubscriptionAlreadyExistsException("Usuário " + subscription.getUser().getId() + " já possui uma assinatura ativa ou pendente.");
+            }
+            throw e;
+        }
+    }
+
+    private static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && constraintName.equalsIgnoreCase(violation.getConstraintName());
     }
 
+    /**
+     * The rows are first loaded with one query, so the merges find them in the persistence
+     * context instead of selecting each row; the updates then go out as JDBC batches on flush.
+     */
     @Override
+    @Transactional
+    public List<Subscription> saveAll(List<Subscription> subscriptions) {
+        if (subscriptions.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = subscriptions.stream()
+                .map(Subscription::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        if (!ids.isEmpty()) {
+            subscriptionRepository.findAllWithUserByIdIn(ids);
+        }
+        List<SubscriptionEntity> entities = subscriptions.stream()
+                .map(subscriptionMapper::toEntity)
+                .collect(Collectors.toList());
+        try {
+            List<SubscriptionEntity> savedEntities = subscriptionRepository.saveAll(entities);
+            subscriptionRepository.flush();
+            return savedEntities.stream()
+                    .map(subscriptionMapper::toDomain)
+                    .collect(Collectors.toList());
+        } catch (OptimisticLockingFailureException e) {
+            throw new SubscriptionAlreadyUpdatedException("Assinaturas alteradas por outra requisição durante a gravação em lote.");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Subscription> findActiveByUserId(UUID userId) {
         return subscriptionRepository.findByUserIdAndStatus(userId, SubscriptionStatus.ACTIVE)
                 .map(subscriptionMapper::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Subscription> findActiveByUserIds(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return subscriptionRepository.findActiveByUserIdIn(userIds)
+                .stream()
+                .map(subscriptionMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Activating a subscription while the user already has another active one violates
+     * {@value #ACTIVE_USER_INDEX}; that is reported as an {@link ActiveSubscriptionAlreadyExistsException}.
+     */
+    @Override
+    public Optional<Subscription> transitionStatus(UUID id, SubscriptionStatus status) {
+        try {
+            return subscriptionRepository.transitionStatus(id, status.name(), LocalDateTime.now())
+                    .map(subscriptionMapper::toDomain);
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, ACTIVE_USER_INDEX)) {
+                throw new ActiveSubscriptionAlreadyExistsException("Assinatura " + id + " não pode ser ativada: usuário já possui uma assinatura ativa.");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Same as {@link #transitionStatus}: one row of the batch colliding with another active
+     * subscription of its user fails the whole statement with an {@link ActiveSubscriptionAlreadyExistsException}.
+     */
+    @Override
+    public List<Subscription> transitionPendingStatus(Collection<UUID> ids, SubscriptionStatus status) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return subscriptionRepository.transitionPendingStatus(ids, status.name(), LocalDateTime.now())
+                    .stream()
+                    .map(subscriptionMapper::toDomain)
+                    .collect(Collectors.toList());
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, ACTIVE_USER_INDEX)) {
+                throw new ActiveSubscriptionAlreadyExistsException("Assinaturas " + ids + " não podem ser ativadas: usuário já possui uma assinatura ativa.");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Not read-only on purpose: callers decide state transitions on the result, so it must come
+     * from the primary rather than a replica that may not have replayed the latest change yet.
+     */
+    @Override
+    @Transactional
     public Optional<Subscription> findById(UUID id) {
         return subscriptionRepository.findById(id)
                 .map(subscriptionMapper::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public long countActive() {
+        return subscriptionRepository.countByStatus(SubscriptionStatus.ACTIVE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Subscription> findActivePage(UUID afterId, int pageSize) {
+        List<SubscriptionEntity> page = afterId == null
+                ? subscriptionRepository.findActiveOrderById(Limit.of(pageSize))
+                : subscriptionRepository.findActiveAfterIdOrderById(afterId, Limit.of(pageSize));
+        return page.stream()
+                .map(subscriptionMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Read from the primary, like {@link #findById}: subscription creation picks the plan change
+     * strategy from it, and a lagging replica could still show the previous subscription.
+     */
+    @Override
+    @Transactional
     public Optional<Subscription> findLatestByUserId(UUID userId) {
         return subscriptionRepository.findFirstByUserIdOrderByStartDateDesc(userId)
                 .map(subscriptionMapper::toDomain);
     }
 
     @Override
-    public List<Subscription> findSubscriptionsToRenew(LocalDate currentDate, int batchSize) {
-        return subscriptionRepository.findSubscriptionsToRenew(currentDate, PageRequest.of(0, batchSize))
+    public List<Subscription> claimSubscriptionsToRenew(LocalDate currentDate, RenewalCursor after, int batchSize) {
+        List<UUID> claimedIds = subscriptionRepository.claimSubscriptionsToRenew(
+                currentDate,
+                after != null ? after.expirationDate() : null,
+                after != null ? after.id() : null,
+                batchSize,
+                leaseOwner,
+                leaseDurationSeconds);
+        if (claimedIds.isEmpty()) {
+            return List.of();
+        }
+        return subscriptionRepository.findAllWithUserByIdIn(claimedIds)
                 .stream()
                 .map(subscriptionMapper::toDomain)
                 .collect(Collectors.toList());
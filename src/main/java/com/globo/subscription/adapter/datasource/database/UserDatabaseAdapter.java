@@ -7,6 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.globo.subscription.adapter.datasource.database.entity.UserEntity;
 import com.globo.subscription.adapter.datasource.database.repository.user.UserRepository;
@@ -37,6 +38,7 @@ public class UserDatabaseAdapter implements UserRepositoryPort {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PagedResult<User> findAll(int page, int size, String email, String name) {
         PageRequest pageRequest = PageRequest.of(page, size);
         
@@ -62,11 +64,17 @@ public class UserDatabaseAdapter implements UserRepositoryPort {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email).map(userMapper::toDomain);
     }
 
+    /**
+     * Read from the primary: subscription creation checks the user exists right after it may
+     * have been created, before a replica has necessarily caught up.
+     */
     @Override
+    @Transactional
     public Optional<User> findById(UUID id) {
         return userRepository.findById(id).map(userMapper::toDomain);
     }
@@ -5,6 +5,7 @@ import com.globo.subscription.core.domain.enums.TypePlan;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -17,7 +18,8 @@ import java.util.UUID;
 public class SubscriptionEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     private UUID id;
 
     @ManyToOne
@@ -42,4 +44,8 @@ public class SubscriptionEntity {
 
     @Column(nullable = false)
     private Integer renewalAttempts = 0;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
@@ -1,8 +1,10 @@
 package com.globo.subscription.adapter.datasource.database.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import com.globo.subscription.adapter.datasource.database.entity.SubscriptionEntity;
+import com.globo.subscription.adapter.datasource.database.repository.subscription.SubscriptionRow;
 import com.globo.subscription.core.domain.Subscription;
 
 @Mapper(componentModel = "spring")
@@ -11,4 +13,9 @@ public interface SubscriptionMapper {
     SubscriptionEntity toEntity(Subscription subscription);
     
     Subscription toDomain(SubscriptionEntity subscriptionEntity);
+
+    @Mapping(target = "user.id", source = "userId")
+    @Mapping(target = "user.name", source = "userName")
+    @Mapping(target = "user.email", source = "userEmail")
+    Subscription toDomain(SubscriptionRow subscriptionRow);
 }
@@ -0,0 +1,61 @@
+package com.globo.subscription.adapter.datasource.database.repository.outbox;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.globo.subscription.adapter.datasource.database.entity.PaymentOutboxEntity;
+
+@Repository
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutboxEntity, Long> {
+
+    /**
+     * Leases the oldest due events for {@code leaseMs} by pushing their next attempt forward, and
+     * returns them. Rows locked by a concurrent lease are skipped, and leased rows are not due, so
+     * several instances can drain the outbox concurrently without sending an event twice while the
+     * row locks are released as soon as the lease commits. An event is only leased when no earlier
+     * event with the same key is still waiting, so a failed event is never overtaken by a later one
+     * for the same user. Dead letters, which are never relayed, do not hold back the events after them.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE payment_outbox
+            SET next_attempt_at = now() + make_interval(secs => :leaseMs / 1000.0)
+            WHERE id IN (
+                SELECT o.id FROM payment_outbox o
+                WHERE o.dead_lettered_at IS NULL AND o.next_attempt_at <= now()
+                  AND NOT EXISTS (
+                      SELECT 1 FROM payment_outbox earlier
+                      WHERE earlier.message_key = o.message_key AND earlier.id < o.id
+                        AND earlier.dead_lettered_at IS NULL)
+                ORDER BY o.id
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING *
+            """, nativeQuery = true)
+    List<PaymentOutboxEntity> leaseNextBatch(@Param("batchSize") int batchSize, @Param("leaseMs") long leaseMs);
+
+    /**
+     * Counts a failed attempt and postpones the next one by {@code baseBackoffMs} doubled per previous
+     * attempt, capped at {@code maxBackoffMs}. Rows reaching {@code maxAttempts} become dead letters.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE payment_outbox
+            SET attempts = attempts + 1,
+                next_attempt_at = now() + make_interval(secs => LEAST(:maxBackoffMs, :baseBackoffMs * power(2, attempts)) / 1000.0),
+                dead_lettered_at = CASE WHEN attempts + 1 >= :maxAttempts THEN now() END
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int recordFailedAttempt(@Param("ids") Collection<Long> ids,
+                            @Param("maxAttempts") int maxAttempts,
+                            @Param("baseBackoffMs") long baseBackoffMs,
+                            @Param("maxBackoffMs") long maxBackoffMs);
+}
@@ -1,15 +1,18 @@
 package com.globo.subscription.adapter.datasource.database.repository.subscription;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.globo.subscription.adapter.datasource.database.entity.SubscriptionEntity;
 import com.globo.subscription.core.domain.enums.SubscriptionStatus;
@@ -19,6 +22,93 @@ public interface SubscriptionRepository extends JpaRepository<SubscriptionEntity
     Optional<SubscriptionEntity> findByUserIdAndStatus(UUID userId, SubscriptionStatus status);
     Optional<SubscriptionEntity> findFirstByUserIdOrderByStartDateDesc(UUID userId);
 
-    @Query("SELECT s FROM SubscriptionEntity s WHERE s.status = 'ACTIVE' AND s.expirationDate <= :currentDate")
-    List<SubscriptionEntity> findSubscriptionsToRenew(@Param("currentDate") LocalDate currentDate, Pageable pageable);
+    @Query("SELECT s FROM SubscriptionEntity s JOIN FETCH s.user u WHERE u.id IN :userIds AND s.status = 'ACTIVE'")
+    List<SubscriptionEntity> findActiveByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
+    long countByStatus(SubscriptionStatus status);
+
+    @Query("SELECT s FROM SubscriptionEntity s JOIN FETCH s.user WHERE s.status = 'ACTIVE' ORDER BY s.id")
+    List<SubscriptionEntity> findActiveOrderById(Limit limit);
+
+    @Query("SELECT s FROM SubscriptionEntity s JOIN FETCH s.user WHERE s.status = 'ACTIVE' AND s.id > :afterId ORDER BY s.id")
+    List<SubscriptionEntity> findActiveAfterIdOrderById(@Param("afterId") UUID afterId, Limit limit);
+
+    /**
+     * Leases the next batch of due subscriptions to {@code owner} and returns their ids.
+     * Rows locked by a concurrent claim are skipped, and rows under a live lease are ignored,
+     * so each due subscription is handed to a single node until its lease expires.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE subscriptions
+            SET renewal_lease_owner = :owner,
+                renewal_lease_until = now() + make_interval(secs => :leaseSeconds)
+            WHERE id IN (
+                SELECT c.id FROM subscriptions c
+                WHERE c.status = 'ACTIVE' AND c.expiration_date <= :currentDate
+                  AND (c.renewal_lease_until IS NULL OR c.renewal_lease_until < now())
+                  AND (CAST(:lastId AS uuid) IS NULL
+                       OR (c.expiration_date, c.id) > (CAST(:lastExpirationDate AS date), CAST(:lastId AS uuid)))
+                ORDER BY c.expiration_date, c.id
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id
+            """, nativeQuery = true)
+    List<UUID> claimSubscriptionsToRenew(@Param("currentDate") LocalDate currentDate,
+                                         @Param("lastExpirationDate") LocalDate lastExpirationDate,
+                                         @Param("lastId") UUID lastId,
+                                         @Param("batchSize") int batchSize,
+                                         @Param("owner") String owner,
+                                         @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Moves a subscription to {@code status} in a single statement, bumping its version, and
+     * returns the updated row with its user. Returns nothing when the subscription does not exist
+     * or is already in that status.
+     */
+    @Transactional
+    @Query(value = """
+            WITH updated AS (
+                UPDATE subscriptions
+                SET status = :status, updated_at = :updatedAt, version = version + 1
+                WHERE id = :id AND status <> :status
+                RETURNING *
+            )
+            SELECT s.id AS "id", s.user_id AS "userId", u.name AS "userName", u.email AS "userEmail",
+                   s.plan AS "plan", s.start_date AS "startDate", s.expiration_date AS "expirationDate",
+                   s.updated_at AS "updatedAt", s.status AS "status", s.renewal_attempts AS "renewalAttempts",
+                   s.version AS "version"
+            FROM updated s
+            JOIN users u ON u.id = s.user_id
+            """, nativeQuery = true)
+    Optional<SubscriptionRow> transitionStatus(@Param("id") UUID id,
+                                               @Param("status") String status,
+                                               @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Moves the {@code PENDING} subscriptions among {@code ids} to {@code status} in a single
+     * statement, bumping their versions, and returns the updated rows with their users.
+     */
+    @Transactional
+    @Query(value = """
+            WITH updated AS (
+                UPDATE subscriptions
+                SET status = :status, updated_at = :updatedAt, version = version + 1
+                WHERE id IN (:ids) AND status = 'PENDING'
+                RETURNING *
+            )
+            SELECT s.id AS "id", s.user_id AS "userId", u.name AS "userName", u.email AS "userEmail",
+                   s.plan AS "plan", s.start_date AS "startDate", s.expiration_date AS "expirationDate",
+                   s.updated_at AS "updatedAt", s.status AS "status", s.renewal_attempts AS "renewalAttempts",
+                   s.version AS "version"
+            FROM updated s
+            JOIN users u ON u.id = s.user_id
+            """, nativeQuery = true)
+    List<SubscriptionRow> transitionPendingStatus(@Param("ids") Collection<UUID> ids,
+                                                  @Param("status") String status,
+                                                  @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("SELECT s FROM SubscriptionEntity s JOIN FETCH s.user WHERE s.id IN :ids ORDER BY s.expirationDate, s.id")
+    List<SubscriptionEntity> findAllWithUserByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,25 @@
+package com.globo.subscription.adapter.datasource.database.repository.subscription;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.globo.subscription.core.domain.enums.SubscriptionStatus;
+import com.globo.subscription.core.domain.enums.TypePlan;
+
+/**
+ * Flat projection of a subscription row joined with its user, returned by native statements.
+ */
+public interface SubscriptionRow {
+    UUID getId();
+    UUID getUserId();
+    String getUserName();
+    String getUserEmail();
+    TypePlan getPlan();
+    LocalDate getStartDate();
+    LocalDate getExpirationDate();
+    LocalDateTime getUpdatedAt();
+    SubscriptionStatus getStatus();
+    Integer getRenewalAttempts();
+    Long getVersion();
+}
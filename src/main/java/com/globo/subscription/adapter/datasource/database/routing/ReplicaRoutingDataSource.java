@@ -0,0 +1,97 @@
+package com.globo.subscription.adapter.datasource.database.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out connections to read replicas in round-robin, skipping any replica whose replication
+ * lag is above {@code maxLagMillis} or that could not be reached on the last check. When no replica
+ * qualifies, connections come from {@code fallback}, the primary.
+ * <p>
+ * Replicas start out unchecked and therefore unused; {@link #refreshReplicaHealth()} is expected to
+ * be called periodically. Closing this data source closes the replica pools, not the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    // Zero when the replica has replayed everything it received, so an idle primary does not read as lag
+    private static final String LAG_QUERY = """
+            SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END
+            """;
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLagMillis;
+
+    private final AtomicReference<List<String>> healthyReplicas = new AtomicReference<>(List.of());
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource fallback, Map<String, DataSource> replicas, long maxLagMillis) {
+        this.replicas = replicas;
+        this.maxLagMillis = maxLagMillis;
+        setDefaultTargetDataSource(fallback);
+        setTargetDataSources(new HashMap<>(replicas));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        List<String> healthy = healthyReplicas.get();
+        if (healthy.isEmpty()) {
+            return null;
+        }
+        return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+    }
+
+    public void refreshReplicaHealth() {
+        List<String> healthy = replicas.entrySet().stream()
+                .filter(replica -> isWithinLag(replica.getKey(), replica.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+
+        List<String> previous = healthyReplicas.getAndSet(healthy);
+        if (!previous.equals(healthy)) {
+            log.info("Read replicas in use changed from {} to {}{}", previous, healthy,
+                    healthy.isEmpty() ? " - reads fall back to the primary" : "");
+        }
+    }
+
+    List<String> healthyReplicas() {
+        return healthyReplicas.get();
+    }
+
+    private boolean isWithinLag(String name, DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+            long lagMillis = rs.next() ? rs.getLong(1) : Long.MAX_VALUE;
+            if (lagMillis > maxLagMillis) {
+                log.warn("Read replica {} is {} ms behind the primary (max {} ms) - skipping it", name, lagMillis, maxLagMillis);
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("Unable to check replication lag of read replica {} - skipping it", name, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
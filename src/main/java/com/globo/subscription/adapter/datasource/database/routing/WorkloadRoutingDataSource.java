@@ -0,0 +1,45 @@
+package com.globo.subscription.adapter.datasource.database.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Takes connections for the primary database from a pool chosen by the workload of the current
+ * thread: tasks wrapped with {@link #onRenewalPool(Runnable)} use the renewal pool, everything else
+ * the primary pool. A large renewal run can then exhaust only its own pool, never the connections
+ * serving HTTP requests.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String RENEWAL = "renewal";
+
+    private static final ThreadLocal<String> CURRENT_WORKLOAD = new ThreadLocal<>();
+
+    public WorkloadRoutingDataSource(DataSource primary, DataSource renewal) {
+        setDefaultTargetDataSource(primary);
+        setTargetDataSources(Map.of(RENEWAL, renewal));
+    }
+
+    public static Runnable onRenewalPool(Runnable task) {
+        return () -> {
+            String previous = CURRENT_WORKLOAD.get();
+            CURRENT_WORKLOAD.set(RENEWAL);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT_WORKLOAD.remove();
+                } else {
+                    CURRENT_WORKLOAD.set(previous);
+                }
+            }
+        };
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return CURRENT_WORKLOAD.get();
+    }
+}
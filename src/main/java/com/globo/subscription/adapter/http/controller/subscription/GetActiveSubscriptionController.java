@@ -1,11 +1,17 @@
 package com.globo.subscription.adapter.http.controller.subscription;
 
+import com.globo.subscription.adapter.http.dto.ActiveSubscriptionBatchRequest;
+import com.globo.subscription.adapter.http.dto.ActiveSubscriptionBatchResponse;
 import com.globo.subscription.adapter.http.dto.ActiveSubscriptionResponse;
+import com.globo.subscription.adapter.http.dto.SubscriptionEntitlementResponse;
 import com.globo.subscription.core.port.out.subscription.ActiveSubscriptionCachePort;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import com.globo.subscription.adapter.http.controller.subscription.spec.GetActiveSubscriptionControllerSpec;
@@ -26,4 +32,18 @@ public class GetActiveSubscriptionController implements GetActiveSubscriptionCon
                 .map(sub -> ResponseEntity.ok(new ActiveSubscriptionResponse(sub)))
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    @Override
+    @GetMapping("/{userId}/entitlement")
+    public ResponseEntity<SubscriptionEntitlementResponse> getEntitlement(@PathVariable UUID userId) {
+        return cachePort.getEntitlement(userId)
+                .map(entitlement -> ResponseEntity.ok(new SubscriptionEntitlementResponse(entitlement)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Override
+    @PostMapping("/batch")
+    public ResponseEntity<ActiveSubscriptionBatchResponse> getActiveSubscriptions(@Valid @RequestBody ActiveSubscriptionBatchRequest request) {
+        return ResponseEntity.ok(new ActiveSubscriptionBatchResponse(cachePort.getActiveSubscriptions(request.usuarioIds())));
+    }
 }
@@ -6,6 +6,7 @@ import java.util.UUID;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -15,13 +16,17 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.globo.subscription.adapter.http.controller.subscription.spec.SubscriptionControllerSpec;
+import com.globo.subscription.adapter.http.dto.subscription.SubscriptionCreationRequestResponse;
 import com.globo.subscription.adapter.http.dto.subscription.SubscriptionRequest;
 import com.globo.subscription.adapter.http.dto.subscription.SubscriptionResponse;
 import com.globo.subscription.adapter.http.dto.subscription.UpdateSubscriptionStatusRequest;
 import com.globo.subscription.adapter.http.mapper.SubscriptionDTOMapper;
 import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.SubscriptionCreationRequest;
 import com.globo.subscription.core.port.in.subscription.CancelSubscriptionPort;
+import com.globo.subscription.core.port.in.subscription.CreateSubscriptionAsyncPort;
 import com.globo.subscription.core.port.in.subscription.CreateSubscriptionPort;
+import com.globo.subscription.core.port.in.subscription.GetSubscriptionCreationRequestPort;
 import com.globo.subscription.core.port.in.subscription.UpdateSubscriptionStatusPort;
 
 import jakarta.validation.Valid;
@@ -33,6 +38,8 @@ import lombok.AllArgsConstructor;
 public class SubscriptionController implements SubscriptionControllerSpec {
 
     private final CreateSubscriptionPort createSubscriptionPort;
+    private final CreateSubscriptionAsyncPort createSubscriptionAsyncPort;
+    private final GetSubscriptionCreationRequestPort getSubscriptionCreationRequestPort;
     private final CancelSubscriptionPort cancelSubscriptionPort;
     private final UpdateSubscriptionStatusPort updateSubscriptionStatusPort;
     private final SubscriptionDTOMapper subscriptionDTOMapper;
@@ -52,6 +59,31 @@ public class SubscriptionController implements SubscriptionControllerSpec {
         return ResponseEntity.created(uri).body(response);
     }
 
+    @Override
+    @PostMapping(headers = "Prefer=respond-async")
+    public ResponseEntity<SubscriptionCreationRequestResponse> createAsync(@Valid @RequestBody SubscriptionRequest request) {
+        Subscription subscription = subscriptionDTOMapper.toDomain(request);
+        SubscriptionCreationRequest creationRequest = createSubscriptionAsyncPort.execute(subscription);
+        SubscriptionCreationRequestResponse response = subscriptionDTOMapper.toResponse(creationRequest);
+
+        URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/requests/{id}")
+                .buildAndExpand(response.id())
+                .toUri();
+
+        return ResponseEntity.accepted()
+                .location(uri)
+                .header("Preference-Applied", "respond-async")
+                .body(response);
+    }
+
+    @Override
+    @GetMapping("/requests/{requestId}")
+    public ResponseEntity<SubscriptionCreationRequestResponse> getCreationRequest(@PathVariable UUID requestId) {
+        SubscriptionCreationRequest creationRequest = getSubscriptionCreationRequestPort.execute(requestId);
+        return ResponseEntity.ok(subscriptionDTOMapper.toResponse(creationRequest));
+    }
+
     @Override
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> cancel(@PathVariable UUID id) {
@@ -1,16 +1,21 @@
 package com.globo.subscription.adapter.http.controller.subscription.spec;
 
+import com.globo.subscription.adapter.http.dto.ActiveSubscriptionBatchRequest;
+import com.globo.subscription.adapter.http.dto.ActiveSubscriptionBatchResponse;
 import com.globo.subscription.adapter.http.dto.ActiveSubscriptionResponse;
+import com.globo.subscription.adapter.http.dto.SubscriptionEntitlementResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.UUID;
 
@@ -116,4 +121,106 @@ public interface GetActiveSubscriptionControllerSpec {
         )
     })
     ResponseEntity<ActiveSubscriptionResponse> getActiveSubscription(@PathVariable UUID userId);
+
+    /**
+     * Consulta apenas o plano, o status e a data de expiração da assinatura ativa de um usuário.
+     * <p>
+     * Mais leve que a consulta completa; indicada para verificações de acesso. Retorna HTTP 404 se não houver assinatura ativa.
+     * </p>
+     * @param userId UUID do usuário
+     * @return ResponseEntity com o plano, status e data de expiração ou 404 se não existir
+     */
+    @Operation(
+        summary = "Consultar direito de acesso",
+        description = "Retorna apenas o plano, o status e a data de expiração da assinatura ativa do usuário, sem os demais dados da assinatura. Caso não exista assinatura ativa, retorna 404.",
+        parameters = {
+            @Parameter(
+                name = "userId",
+                description = "UUID do usuário para consulta do direito de acesso",
+                required = true,
+                example = "123e4567-e89b-12d3-a456-426614174000",
+                schema = @Schema(type = "string", format = "uuid")
+            )
+        }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Direito de acesso encontrado",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = SubscriptionEntitlementResponse.class),
+                examples = @ExampleObject(
+                    name = "Direito de acesso",
+                    value = """
+                    {
+                      "entitlement": {
+                        "plan": "PREMIUM",
+                        "status": "ACTIVE",
+                        "expirationDate": "2026-03-15"
+                      }
+                    }
+                    """
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Usuário não possui assinatura ativa",
+                        content = @Content(
+                                mediaType = "application/json",
+                                schema = @Schema(implementation = com.globo.subscription.adapter.http.exception.exceptionhandler.Problem.class)
+                        )
+        )
+    })
+    ResponseEntity<SubscriptionEntitlementResponse> getEntitlement(@PathVariable UUID userId);
+
+    /**
+     * Consulta as assinaturas ativas de vários usuários em uma única chamada.
+     * <p>
+     * Usuários sem assinatura ativa não aparecem no mapa de resposta.
+     * </p>
+     * @param request lista de UUIDs de usuários (máximo de 500)
+     * @return ResponseEntity com o mapa de UUID do usuário para a assinatura ativa
+     */
+    @Operation(
+        summary = "Consultar assinaturas ativas em lote",
+        description = "Consulta as assinaturas ativas de até 500 usuários em uma única chamada. Retorna um mapa do UUID do usuário para a assinatura vigente; usuários sem assinatura ativa são omitidos."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Consulta realizada com sucesso",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ActiveSubscriptionBatchResponse.class),
+                examples = @ExampleObject(
+                    name = "Assinaturas ativas",
+                    description = "Exemplo de resposta com um usuário com assinatura ativa",
+                    value = """
+                    {
+                      "subscriptions": {
+                        "123e4567-e89b-12d3-a456-426614174000": {
+                          "id": "987e6543-e21b-12d3-a456-426614174000",
+                          "plan": "PREMIUM",
+                          "startDate": "2026-02-15",
+                          "expirationDate": "2026-03-15",
+                          "status": "ACTIVE"
+                        }
+                      }
+                    }
+                    """
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Lista de usuários vazia ou com mais de 500 itens",
+                        content = @Content(
+                                mediaType = "application/json",
+                                schema = @Schema(implementation = com.globo.subscription.adapter.http.exception.exceptionhandler.Problem.class)
+                        )
+        )
+    })
+    ResponseEntity<ActiveSubscriptionBatchResponse> getActiveSubscriptions(@Valid @RequestBody ActiveSubscriptionBatchRequest request);
 }
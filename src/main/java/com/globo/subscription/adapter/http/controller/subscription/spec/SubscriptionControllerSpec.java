@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import com.globo.subscription.adapter.http.dto.subscription.SubscriptionCreationRequestResponse;
 import com.globo.subscription.adapter.http.dto.subscription.SubscriptionRequest;
 import com.globo.subscription.adapter.http.dto.subscription.SubscriptionResponse;
 import com.globo.subscription.adapter.http.dto.subscription.UpdateSubscriptionStatusRequest;
@@ -42,8 +43,8 @@ public interface SubscriptionControllerSpec {
      * Cria uma nova assinatura para um usuário.
      * <p>
      * Este endpoint permite a criação de uma nova assinatura vinculada a um usuário existente.
-     * Antes de criar a assinatura, o sistema verifica se o usuário já possui uma assinatura ativa.
-     * Apenas uma assinatura ativa é permitida por usuário. O sistema também valida o saldo disponível
+     * Apenas uma assinatura ativa ou pendente de pagamento é permitida por usuário; enquanto houver
+     * uma, a criação é recusada com 409 (Conflict). O sistema também valida o saldo disponível
      * na carteira do usuário antes de processar a transação financeira.
      * </p>
      *
@@ -53,7 +54,7 @@ public interface SubscriptionControllerSpec {
     @Operation(
         summary = "Criar nova assinatura",
         description = "Cria uma nova assinatura para um usuário com o plano selecionado. " +
-                      "Valida se o usuário existe, se não possui assinatura ativa e se possui saldo suficiente na carteira. " +
+                      "Valida se o usuário existe, se não possui assinatura ativa ou pendente e se possui saldo suficiente na carteira. " +
                       "Após a validação, debita o valor do plano da carteira e ativa a assinatura.",
         requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
             description = "Dados da assinatura a ser criada",
@@ -128,25 +129,11 @@ public interface SubscriptionControllerSpec {
         ),
         @ApiResponse(
             responseCode = "400",
-            description = "Dados inválidos ou usuário já possui assinatura ativa",
+            description = "Dados inválidos",
             content = @Content(
                 mediaType = "application/json",
                                 schema = @Schema(implementation = com.globo.subscription.adapter.http.exception.exceptionhandler.Problem.class),
                                 examples = {
-                                        @ExampleObject(
-                                                name = "Assinatura já existe",
-                                                description = "Erro quando usuário já possui assinatura ativa",
-                                                value = """
-                                                {
-                                                    "detail": "Usuário já possui uma assinatura ativa",
-                                                    "status": 400,
-                                                    "timestamp": "2026-02-15T10:30:00.000Z",
-                                                    "title": "Erro de negócio",
-                                                    "uri": "https://globo.com/business-error",
-                                                    "userMessage": "Usuário já possui uma assinatura ativa"
-                                                }
-                                                """
-                                        ),
                                         @ExampleObject(
                                                 name = "Validação falhou",
                                                 description = "Erro quando dados obrigatórios não são fornecidos",
@@ -189,6 +176,27 @@ public interface SubscriptionControllerSpec {
                                 )
             )
         ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Usuário já possui uma assinatura ativa ou pendente de pagamento",
+            content = @Content(
+                mediaType = "application/json",
+                                schema = @Schema(implementation = com.globo.subscription.adapter.http.exception.exceptionhandler.Problem.class),
+                                examples = @ExampleObject(
+                                        name = "Assinatura já existe",
+                                        value = """
+                                        {
+                                            "detail": "Usuário 123e4567-e89b-12d3-a456-426614174000 já possui uma assinatura ativa ou pendente.",
+                                            "status": 409,
+                                            "timestamp": "2026-02-15T10:30:00.000Z",
+                                            "title": "Erro de negócio",
+                                            "uri": "https://globo.com/business-error",
+                                            "userMessage": "Usuário 123e4567-e89b-12d3-a456-426614174000 já possui uma assinatura ativa ou pendente."
+                                        }
+                                        """
+                                )
+            )
+        ),
         @ApiResponse(
             responseCode = "422",
             description = "Saldo insuficiente na carteira",
@@ -234,6 +242,145 @@ public interface SubscriptionControllerSpec {
     })
     ResponseEntity<SubscriptionResponse> create(@Valid @RequestBody SubscriptionRequest request);
 
+    /**
+     * Solicita a criação de uma assinatura de forma assíncrona.
+     * <p>
+     * Selecionado quando o cliente envia o cabeçalho {@code Prefer: respond-async}. A solicitação é
+     * registrada e processada em segundo plano com as mesmas validações da criação síncrona; a resposta
+     * traz o endereço onde o andamento pode ser consultado.
+     * </p>
+     *
+     * @param request objeto contendo os dados necessários para criar a assinatura
+     * @return ResponseEntity com a solicitação registrada e status HTTP 202 (Accepted)
+     */
+    @Operation(
+        summary = "Solicitar criação de assinatura (assíncrona)",
+        description = "Registra a criação da assinatura e responde imediatamente, sem aguardar as validações e o débito na carteira. " +
+                      "Requer o cabeçalho Prefer: respond-async. O resultado deve ser consultado em GET /subscriptions/requests/{requestId}.",
+        parameters = {
+            @Parameter(
+                name = "Prefer",
+                in = io.swagger.v3.oas.annotations.enums.ParameterIn.HEADER,
+                description = "Deve ser respond-async para selecionar o processamento assíncrono",
+                required = true,
+                example = "respond-async",
+                schema = @Schema(type = "string")
+            )
+        }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Solicitação de criação registrada",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = SubscriptionCreationRequestResponse.class),
+                examples = @ExampleObject(
+                    name = "Solicitação registrada",
+                    value = """
+                    {
+                      "id": "5b0c2f1e-7d2a-4c55-9e8f-2a6d3c1b9e70",
+                      "usuarioId": "123e4567-e89b-12d3-a456-426614174000",
+                      "status": "PROCESSANDO",
+                      "assinaturaId": null,
+                      "erro": null
+                    }
+                    """
+                )
+            ),
+            headers = {
+                @io.swagger.v3.oas.annotations.headers.Header(
+                    name = "Location",
+                    description = "URI para consultar o andamento da solicitação",
+                    schema = @Schema(type = "string", example = "/subscriptions/requests/5b0c2f1e-7d2a-4c55-9e8f-2a6d3c1b9e70")
+                )
+            }
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Dados inválidos",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = com.globo.subscription.adapter.http.exception.exceptionhandler.Problem.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Capacidade de processamento esgotada; tente novamente em instantes",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = com.globo.subscription.adapter.http.exception.exceptionhandler.Problem.class)
+            )
+        )
+    })
+    ResponseEntity<SubscriptionCreationRequestResponse> createAsync(@Valid @RequestBody SubscriptionRequest request);
+
+    /**
+     * Consulta o andamento de uma solicitação assíncrona de criação de assinatura.
+     *
+     * @param requestId identificador da solicitação retornado na criação assíncrona
+     * @return ResponseEntity com o estado da solicitação e status HTTP 200 (OK)
+     */
+    @Operation(
+        summary = "Consultar solicitação de criação de assinatura",
+        description = "Retorna o estado de uma solicitação assíncrona: PROCESSANDO, CONCLUIDA (com o id da assinatura criada) " +
+                      "ou FALHOU (com o motivo). As solicitações ficam disponíveis por tempo limitado.",
+        parameters = {
+            @Parameter(
+                name = "requestId",
+                description = "UUID da solicitação de criação",
+                required = true,
+                example = "5b0c2f1e-7d2a-4c55-9e8f-2a6d3c1b9e70",
+                schema = @Schema(type = "string", format = "uuid")
+            )
+        }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Estado da solicitação",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = SubscriptionCreationRequestResponse.class),
+                examples = {
+                    @ExampleObject(
+                        name = "Concluída",
+                        value = """
+                        {
+                          "id": "5b0c2f1e-7d2a-4c55-9e8f-2a6d3c1b9e70",
+                          "usuarioId": "123e4567-e89b-12d3-a456-426614174000",
+                          "status": "CONCLUIDA",
+                          "assinaturaId": "987e6543-e21b-12d3-a456-426614174000",
+                          "erro": null
+                        }
+                        """
+                    ),
+                    @ExampleObject(
+                        name = "Falhou",
+                        value = """
+                        {
+                          "id": "5b0c2f1e-7d2a-4c55-9e8f-2a6d3c1b9e70",
+                          "usuarioId": "123e4567-e89b-12d3-a456-426614174000",
+                          "status": "FALHOU",
+                          "assinaturaId": null,
+                          "erro": "Usuário 123e4567-e89b-12d3-a456-426614174000 não possui carteira cadastrada."
+                        }
+                        """
+                    )
+                }
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Solicitação não encontrada ou expirada",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = com.globo.subscription.adapter.http.exception.exceptionhandler.Problem.class)
+            )
+        )
+    })
+    ResponseEntity<SubscriptionCreationRequestResponse> getCreationRequest(@PathVariable UUID requestId);
+
     /**
      * Cancela uma assinatura existente.
      * <p>
@@ -0,0 +1,13 @@
+package com.globo.subscription.adapter.http.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record ActiveSubscriptionBatchRequest(
+    @NotEmpty(message = "{activeSubscription.userIds.required}")
+    @Size(max = 500, message = "{activeSubscription.userIds.size}")
+    List<UUID> usuarioIds
+) {}
@@ -0,0 +1,8 @@
+package com.globo.subscription.adapter.http.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+import com.globo.subscription.core.domain.Subscription;
+
+public record ActiveSubscriptionBatchResponse(Map<UUID, Subscription> subscriptions) {}
@@ -0,0 +1,5 @@
+package com.globo.subscription.adapter.http.dto;
+
+import com.globo.subscription.core.domain.SubscriptionEntitlement;
+
+public record SubscriptionEntitlementResponse(SubscriptionEntitlement entitlement) {}
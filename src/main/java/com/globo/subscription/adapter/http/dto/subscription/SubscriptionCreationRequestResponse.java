@@ -0,0 +1,11 @@
+package com.globo.subscription.adapter.http.dto.subscription;
+
+import java.util.UUID;
+
+public record SubscriptionCreationRequestResponse(
+    UUID id,
+    UUID usuarioId,
+    String status,
+    UUID assinaturaId,
+    String erro
+) {}
@@ -24,9 +24,11 @@ import com.globo.subscription.core.exception.BusinessException;
 import com.globo.subscription.core.exception.EmailAlreadyExistsException;
 import com.globo.subscription.core.exception.SubscriptionAlreadyCanceledException;
 import com.globo.subscription.core.exception.SubscriptionAlreadyUpdatedException;
+import com.globo.subscription.core.exception.SubscriptionCreationUnavailableException;
 import com.globo.subscription.core.exception.SubscriptionNotFoundException;
 import com.globo.subscription.core.exception.UserNotFoundException;
 import com.globo.subscription.core.exception.WalletTransactionException;
+import com.globo.subscription.core.exception.WalletUnavailableException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -206,6 +208,19 @@ public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
         return handleExceptionInternal(ex, problem, new HttpHeaders(), status, request);
     }
 
+    @ExceptionHandler({WalletUnavailableException.class, SubscriptionCreationUnavailableException.class})
+    public ResponseEntity<Object> handleServiceUnavailable(BusinessException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ProblemType problemType = ProblemType.SERVICE_UNAVAILABLE;
+        String detail = ex.getMessage();
+
+        Problem problem = createProblemBuilder(status, problemType, detail)
+                .userMessage(detail)
+                .build();
+
+        return handleExceptionInternal(ex, problem, new HttpHeaders(), status, request);
+    }
+
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<Object> handleBusiness(BusinessException ex, WebRequest request) {
         HttpStatus status = HttpStatus.BAD_REQUEST;
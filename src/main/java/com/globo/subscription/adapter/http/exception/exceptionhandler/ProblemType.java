@@ -13,6 +13,7 @@ public enum ProblemType {
 	REGISTER_NOT_FOUND("/register-not-found", "Registro não encontrado"),
 	BUSINESS_ERROR("/business-error", "Erro de negócio"),
     METHOD_NOT_ALLOWED("/method-not-allowed", "Método não permitido"),
+    SERVICE_UNAVAILABLE("/service-unavailable", "Serviço indisponível"),
     INVALID_DATA("/invalid-data", "Dados inválidos");
 
 	private final String title;
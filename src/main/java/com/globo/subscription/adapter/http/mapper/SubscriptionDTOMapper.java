@@ -4,9 +4,12 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 
+import com.globo.subscription.adapter.http.dto.subscription.SubscriptionCreationRequestResponse;
 import com.globo.subscription.adapter.http.dto.subscription.SubscriptionRequest;
 import com.globo.subscription.adapter.http.dto.subscription.SubscriptionResponse;
 import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.SubscriptionCreationRequest;
+import com.globo.subscription.core.domain.enums.SubscriptionRequestStatus;
 import com.globo.subscription.core.domain.enums.SubscriptionStatus;
 
 @Mapper(componentModel = "spring")
@@ -29,6 +32,12 @@ public interface SubscriptionDTOMapper {
     @Mapping(source = "status", target = "status", qualifiedByName = "mapStatus")
     SubscriptionResponse toResponse(Subscription subscription);
 
+    @Mapping(source = "userId", target = "usuarioId")
+    @Mapping(source = "status", target = "status", qualifiedByName = "mapRequestStatus")
+    @Mapping(source = "subscriptionId", target = "assinaturaId")
+    @Mapping(source = "error", target = "erro")
+    SubscriptionCreationRequestResponse toResponse(SubscriptionCreationRequest request);
+
     @Named("mapStatus")
     default String mapStatus(SubscriptionStatus status) {
         if (status == null) return null;
@@ -41,4 +50,14 @@ public interface SubscriptionDTOMapper {
             case PAYMENT_FAILED -> "FALHA_PAGAMENTO";
         };
     }
+
+    @Named("mapRequestStatus")
+    default String mapRequestStatus(SubscriptionRequestStatus status) {
+        if (status == null) return null;
+        return switch (status) {
+            case PROCESSING -> "PROCESSANDO";
+            case COMPLETED -> "CONCLUIDA";
+            case FAILED -> "FALHOU";
+        };
+    }
 }
@@ -0,0 +1,223 @@
+package com.globo.subscription.adapter.integration.redis;
+
+import com.globo.subscription.adapter.integration.redis.dto.ActiveSubscriptionCacheEntry;
+import com.globo.subscription.adapter.integration.redis.store.ActiveSubscriptionStore;
+import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.port.out.subscription.SubscriptionRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loads every active subscription into Redis after startup and again whenever the Redis data set
+ * may have been lost, e.g. after a failover to an empty replica. Active rows are streamed in keyset
+ * pages ordered by id and written with one pipeline per page, throttled to a maximum number of rows
+ * per second so the warm-up does not saturate the database.
+ * <p>
+ * A marker key written at the end of each warm-up tells that the data set was loaded. A missing
+ * marker only means the state is unknown - it can also be evicted - so the nodes keep serving,
+ * with misses read from the database, while a single node holding the warm-up lock loads the
+ * cache again. Entries are written only where absent, so a needless warm-up overwrites nothing.
+ * <p>
+ * At startup the node that takes the lock reports itself ready once {@code ready-percentage} of
+ * the active subscriptions are cached, or after {@code max-wait-seconds}; the other nodes start
+ * right away.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "redis.cache.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class ActiveSubscriptionCacheWarmer implements ApplicationRunner {
+
+    static final String MARKER_KEY = "active-subscription:warmup-marker";
+    static final String LOCK_KEY = "active-subscription:warmup-lock";
+
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    @Value("${redis.cache.warmup.page-size:1000}")
+    private int pageSize;
+
+    @Value("${redis.cache.warmup.rows-per-second:20000}")
+    private int rowsPerSecond;
+
+    @Value("${redis.cache.warmup.ready-percentage:90}")
+    private int readyPercentage;
+
+    @Value("${redis.cache.warmup.max-wait-seconds:300}")
+    private long maxWaitSeconds;
+
+    @Value("${redis.cache.warmup.lock-ttl-ms:900000}")
+    private long lockTtlMillis;
+
+    @Value("${redis.cache.warmup.ttl-jitter:0.1}")
+    private double ttlJitter;
+
+    @Value("${redis.cache.active-subscription-ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    private final SubscriptionRepositoryPort subscriptionRepositoryPort;
+    private final ActiveSubscriptionStore activeSubscriptionStore;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicReference<CountDownLatch> inProgress = new AtomicReference<>();
+
+    /**
+     * Runs before Spring Boot switches readiness to accepting traffic, so blocking here holds
+     * traffic until enough of the cache is loaded.
+     */
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        CountDownLatch ready = startWarmUpIfNeeded();
+        if (ready != null && !ready.await(maxWaitSeconds, TimeUnit.SECONDS)) {
+            log.warn("Active subscription cache below {}% after {} s - accepting traffic while the warm-up continues",
+                    readyPercentage, maxWaitSeconds);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${redis.cache.warmup.failover-check-ms:10000}",
+            fixedDelayString = "${redis.cache.warmup.failover-check-ms:10000}")
+    public void checkFailover() {
+        if (inProgress.get() == null) {
+            startWarmUpIfNeeded();
+        }
+    }
+
+    /**
+     * @return the readiness latch of the warm-up this node started, or {@code null} when the marker
+     * is present, another node holds the lock or Redis could not be reached
+     */
+    private CountDownLatch startWarmUpIfNeeded() {
+        try {
+            if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(MARKER_KEY))) {
+                return null;
+            }
+            if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                    .setIfAbsent(LOCK_KEY, nodeId, Duration.ofMillis(lockTtlMillis)))) {
+                return null;
+            }
+        } catch (Exception e) {
+            log.warn("Unable to check the active subscription warm-up marker", e);
+            return null;
+        }
+
+        log.info("Active subscription warm-up marker missing from Redis - warming the cache on this node");
+        return startWarmUp();
+    }
+
+    private CountDownLatch startWarmUp() {
+        CountDownLatch ready = new CountDownLatch(1);
+        if (!inProgress.compareAndSet(null, ready)) {
+            return inProgress.get();
+        }
+
+        Thread.ofPlatform().name("active-subscription-warmup").daemon().start(() -> {
+            try {
+                warmUp(ready::countDown);
+            } catch (Exception e) {
+                log.error("Active subscription cache warm-up failed", e);
+            } finally {
+                // A failed warm-up must not keep the application out of rotation.
+                ready.countDown();
+                releaseLock();
+                inProgress.set(null);
+            }
+        });
+        return ready;
+    }
+
+    private void releaseLock() {
+        try {
+            stringRedisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(LOCK_KEY), nodeId);
+        } catch (Exception e) {
+            log.warn("Unable to release the active subscription warm-up lock - it expires on its own", e);
+        }
+    }
+
+    void warmUp(Runnable onReady) throws InterruptedException {
+        long total = subscriptionRepositoryPort.countActive();
+        long target = (long) Math.ceil(total * readyPercentage / 100.0);
+        long startNanos = System.nanoTime();
+        long loaded = 0;
+        UUID afterId = null;
+
+        log.info("Warming active subscription cache - {} active subscriptions, ready at {}", total, target);
+        if (target == 0) {
+            onReady.run();
+        }
+
+        List<Subscription> page;
+        do {
+            long queryStartMillis = System.currentTimeMillis();
+            page = subscriptionRepositoryPort.findActivePage(afterId, pageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            long loadMillis = Math.max(1, System.currentTimeMillis() - queryStartMillis);
+            afterId = page.get(page.size() - 1).getId();
+
+            long pageTtlSeconds = jitteredTtlSeconds();
+            long expiresAtMillis = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(pageTtlSeconds);
+            Map<UUID, ActiveSubscriptionCacheEntry> entries = new HashMap<>();
+            for (Subscription subscription : page) {
+                entries.put(subscription.getUser().getId(), new ActiveSubscriptionCacheEntry(subscription, expiresAtMillis, loadMillis));
+            }
+            activeSubscriptionStore.putAllIfAbsent(entries, pageTtlSeconds);
+
+            loaded += page.size();
+            if (loaded >= target) {
+                onReady.run();
+            }
+            throttle(loaded, startNanos);
+        } while (page.size() == pageSize);
+
+        stringRedisTemplate.opsForValue().set(MARKER_KEY, Instant.now().toString());
+        onReady.run();
+
+        log.info("Active subscription cache warm-up completed - Loaded: {}, Elapsed: {} ms",
+                loaded, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Entries loaded together would otherwise all expire at the same moment and send the whole
+     * population back to the database at once.
+     */
+    private long jitteredTtlSeconds() {
+        return Math.max(1, Math.round(ttlSeconds * (1.0 - ThreadLocalRandom.current().nextDouble() * ttlJitter)));
+    }
+
+    private void throttle(long loaded, long startNanos) throws InterruptedException {
+        if (rowsPerSecond <= 0) {
+            return;
+        }
+        long expectedNanos = TimeUnit.SECONDS.toNanos(loaded) / rowsPerSecond;
+        long aheadNanos = expectedNanos - (System.nanoTime() - startNanos);
+        if (aheadNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(aheadNanos);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.globo.subscription.adapter.integration.redis;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.SubscriptionEntitlement;
+import com.globo.subscription.core.domain.User;
+import com.globo.subscription.core.port.out.subscription.ActiveSubscriptionCachePort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-process cache in front of {@link ActiveSubscriptionRedisAdapter}. Entries, including the
+ * absence of an active subscription, live for a short, bounded time; writes and removals evict the
+ * local entry and are broadcast on a Redis channel so the other instances drop their copy as well.
+ * <p>
+ * Every change to a local entry first bumps the generation of its key, and an entry loaded from
+ * Redis is stored only if its generation did not move while Redis was being read, so a slow read
+ * cannot bring back a value invalidated in the meantime. Generations are kept per stripe of keys,
+ * which bounds their memory at the cost of skipping an occasional fill for an unrelated key.
+ * Subscriptions are mutable, so the cache keeps its own copies and hands out copies.
+ */
+@Slf4j
+@Primary
+@Component
+public class ActiveSubscriptionNearCache implements ActiveSubscriptionCachePort, MessageListener {
+
+    private static final String SEPARATOR = ":";
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final ActiveSubscriptionRedisAdapter redisAdapter;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<UUID, Optional<Subscription>> cache;
+    private final String invalidationChannel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public ActiveSubscriptionNearCache(ActiveSubscriptionRedisAdapter redisAdapter,
+                                       StringRedisTemplate stringRedisTemplate,
+                                       @Value("${redis.cache.near.max-size:100000}") long maxSize,
+                                       @Value("${redis.cache.near.ttl-seconds:30}") long ttlSeconds,
+                                       @Value("${redis.cache.invalidation-channel:active-subscription-invalidation}") String invalidationChannel) {
+        this.redisAdapter = redisAdapter;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.invalidationChannel = invalidationChannel;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * The local entry is updated only when Redis accepted the write; a write rejected as stale
+     * drops it instead, so the next read picks up the newer entry from Redis.
+     */
+    @Override
+    public void putActiveSubscription(UUID userId, Subscription subscription, long ttlSeconds) {
+        if (redisAdapter.putIfNewer(userId, subscription, ttlSeconds)) {
+            store(userId, Optional.ofNullable(subscription).map(ActiveSubscriptionNearCache::copy));
+        } else {
+            invalidate(userId);
+        }
+        publishInvalidation(userId);
+    }
+
+    @Override
+    public void putActiveSubscriptions(Collection<Subscription> subscriptions, long ttlSeconds) {
+        Set<UUID> written = redisAdapter.putAllIfNewer(subscriptions, ttlSeconds);
+        List<UUID> userIds = new ArrayList<>();
+        for (Subscription subscription : subscriptions) {
+            UUID userId = subscription.getUser().getId();
+            if (written.contains(userId)) {
+                store(userId, Optional.of(copy(subscription)));
+            } else {
+                invalidate(userId);
+            }
+            userIds.add(userId);
+        }
+        publishInvalidations(userIds);
+    }
+
+    @Override
+    public Optional<Subscription> getActiveSubscription(UUID userId) {
+        Optional<Subscription> cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached.map(ActiveSubscriptionNearCache::copy);
+        }
+
+        long generation = generation(userId);
+        Optional<Subscription> result = redisAdapter.getActiveSubscription(userId);
+        fill(userId, generation, result.map(ActiveSubscriptionNearCache::copy));
+        return result;
+    }
+
+    /**
+     * Local hits are projected from the cached subscription; misses read only the entitlement
+     * fields from Redis and are not cached locally, since the local cache holds full subscriptions.
+     */
+    @Override
+    public Optional<SubscriptionEntitlement> getEntitlement(UUID userId) {
+        Optional<Subscription> cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached.map(SubscriptionEntitlement::from);
+        }
+        return redisAdapter.getEntitlement(userId);
+    }
+
+    @Override
+    public Map<UUID, Subscription> getActiveSubscriptions(Collection<UUID> userIds) {
+        Map<UUID, Subscription> result = new HashMap<>();
+        List<UUID> remaining = new ArrayList<>();
+        for (UUID userId : userIds) {
+            Optional<Subscription> cached = cache.getIfPresent(userId);
+            if (cached == null) {
+                remaining.add(userId);
+            } else {
+                cached.ifPresent(sub -> result.put(userId, copy(sub)));
+            }
+        }
+        if (remaining.isEmpty()) {
+            return result;
+        }
+
+        long[] generationsBeforeLoad = new long[remaining.size()];
+        for (int i = 0; i < remaining.size(); i++) {
+            generationsBeforeLoad[i] = generation(remaining.get(i));
+        }
+        Map<UUID, Subscription> loaded = redisAdapter.getActiveSubscriptions(remaining);
+        for (int i = 0; i < remaining.size(); i++) {
+            UUID userId = remaining.get(i);
+            fill(userId, generationsBeforeLoad[i], Optional.ofNullable(loaded.get(userId)).map(ActiveSubscriptionNearCache::copy));
+        }
+        result.putAll(loaded);
+        return result;
+    }
+
+    @Override
+    public void removeActiveSubscription(Subscription subscription) {
+        UUID userId = subscription.getUser().getId();
+        redisAdapter.removeActiveSubscription(subscription);
+        invalidate(userId);
+        publishInvalidation(userId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(SEPARATOR);
+        if (separator < 0 || nodeId.equals(body.substring(0, separator))) {
+            return;
+        }
+        try {
+            invalidate(UUID.fromString(body.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed active subscription invalidation message: {}", body);
+        }
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    private void store(UUID userId, Optional<Subscription> subscription) {
+        generations.incrementAndGet(stripe(userId));
+        cache.put(userId, subscription);
+    }
+
+    private void invalidate(UUID userId) {
+        generations.incrementAndGet(stripe(userId));
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Stores a value read from Redis unless the key changed since {@code generation} was taken. The
+     * check runs inside the map's compute, which is serialized with the invalidation of the same key.
+     */
+    private void fill(UUID userId, long generation, Optional<Subscription> subscription) {
+        cache.asMap().compute(userId, (key, current) ->
+                generations.get(stripe(key)) == generation ? subscription : current);
+    }
+
+    private long generation(UUID userId) {
+        return generations.get(stripe(userId));
+    }
+
+    private static int stripe(UUID userId) {
+        return Math.floorMod(userId.hashCode(), GENERATION_STRIPES);
+    }
+
+    private static Subscription copy(Subscription subscription) {
+        User user = subscription.getUser();
+        return subscription.toBuilder()
+                .user(user != null ? new User(user.getId(), user.getName(), user.getEmail()) : null)
+                .build();
+    }
+
+    private void publishInvalidations(List<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                byte[] channel = invalidationChannel.getBytes(StandardCharsets.UTF_8);
+                for (UUID userId : userIds) {
+                    connection.publish(channel, (nodeId + SEPARATOR + userId).getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to publish active subscription invalidations for {} users", userIds.size(), e);
+        }
+    }
+
+    private void publishInvalidation(UUID userId) {
+        try {
+            stringRedisTemplate.convertAndSend(invalidationChannel, nodeId + SEPARATOR + userId);
+        } catch (Exception e) {
+            log.warn("Failed to publish active subscription invalidation for user {}", userId, e);
+        }
+    }
+}
@@ -1,56 +1,240 @@
 package com.globo.subscription.adapter.integration.redis;
 
+import com.globo.subscription.adapter.integration.redis.dto.ActiveSubscriptionCacheEntry;
+import com.globo.subscription.adapter.integration.redis.store.ActiveSubscriptionStore;
+import com.globo.subscription.adapter.integration.redis.store.CacheVersion;
 import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.SubscriptionEntitlement;
 import com.globo.subscription.core.port.out.subscription.ActiveSubscriptionCachePort;
 import com.globo.subscription.core.port.out.subscription.SubscriptionRepositoryPort;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class ActiveSubscriptionRedisAdapter implements ActiveSubscriptionCachePort {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final ActiveSubscriptionStore activeSubscriptionStore;
     private final SubscriptionRepositoryPort subscriptionRepositoryPort;
 
+    private final Map<UUID, CompletableFuture<Optional<Subscription>>> inFlightLoads = new ConcurrentHashMap<>();
+
     @Value("${redis.cache.active-subscription-ttl-seconds:3600}")
     private long ttlSeconds;
 
-    private String key(UUID userId) {
-        return "active-subscription:" + userId;
-    }
+    @Value("${redis.cache.negative-ttl-seconds:60}")
+    private long negativeTtlSeconds;
 
+    @Value("${redis.cache.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta;
+
+    /**
+     * Write-through after a database change. The write is stamped with the subscription's row
+     * version and skipped if a concurrent writer already cached a newer version.
+     */
     @Override
     public void putActiveSubscription(UUID userId, Subscription subscription, long ttlSeconds) {
-        ValueOperations<String, Object> ops = redisTemplate.opsForValue();
-        ops.set(key(userId), subscription, ttlSeconds, TimeUnit.SECONDS);
+        putIfNewer(userId, subscription, ttlSeconds);
+    }
+
+    /**
+     * Same as {@link #putActiveSubscription}, telling whether the write was applied or rejected as stale.
+     */
+    public boolean putIfNewer(UUID userId, Subscription subscription, long ttlSeconds) {
+        return write(userId, subscription, CacheVersion.of(subscription), ttlSeconds, 0);
+    }
+
+    /**
+     * Write-through of several database changes in one pipeline, each stamped with its row version.
+     */
+    @Override
+    public void putActiveSubscriptions(Collection<Subscription> subscriptions, long ttlSeconds) {
+        putAllIfNewer(subscriptions, ttlSeconds);
+    }
+
+    /**
+     * Same as {@link #putActiveSubscriptions}, returning the users whose entry was written; the
+     * others were rejected as stale.
+     */
+    public Set<UUID> putAllIfNewer(Collection<Subscription> subscriptions, long ttlSeconds) {
+        long expiresAtMillis = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds);
+        Map<UUID, ActiveSubscriptionCacheEntry> entries = new HashMap<>();
+        for (Subscription subscription : subscriptions) {
+            entries.put(subscription.getUser().getId(), new ActiveSubscriptionCacheEntry(subscription, expiresAtMillis, 0));
+        }
+        if (entries.isEmpty()) {
+            return Set.of();
+        }
+        Set<UUID> written = activeSubscriptionStore.putAll(entries, ttlSeconds, negativeTtlSeconds);
+        if (written.size() < entries.size()) {
+            log.debug("Skipped {} stale active subscription cache writes", entries.size() - written.size());
+        }
+        return written;
     }
 
     @Override
     public Optional<Subscription> getActiveSubscription(UUID userId) {
 
-        ValueOperations<String, Object> ops = redisTemplate.opsForValue();
-        Object value = ops.get(key(userId));
+        ActiveSubscriptionCacheEntry entry = activeSubscriptionStore.get(userId);
 
-        if (value instanceof Subscription sub) {
-            return Optional.of(sub);
+        if (entry != null && !shouldRefreshEarly(entry)) {
+            return Optional.ofNullable(entry.getSubscription());
+        }
+
+        return loadCoalesced(userId);
+    }
+
+    /**
+     * Reads only the entitlement fields from the store; with the hash layout this skips
+     * transferring and decoding the rest of the subscription.
+     */
+    @Override
+    public Optional<SubscriptionEntitlement> getEntitlement(UUID userId) {
+
+        ActiveSubscriptionCacheEntry entry = activeSubscriptionStore.getEntitlement(userId);
 
+        if (entry != null && !shouldRefreshEarly(entry)) {
+            return Optional.ofNullable(entry.getSubscription()).map(SubscriptionEntitlement::from);
         }
 
+        return loadCoalesced(userId).map(SubscriptionEntitlement::from);
+    }
+
+    /**
+     * Resolves all users with one MGET; the misses are loaded with a single database query and
+     * written back, tombstones included, in one pipeline.
+     */
+    @Override
+    public Map<UUID, Subscription> getActiveSubscriptions(Collection<UUID> userIds) {
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        Map<UUID, Subscription> result = new HashMap<>();
+        if (ids.isEmpty()) {
+            return result;
+        }
+
+        List<ActiveSubscriptionCacheEntry> entries = activeSubscriptionStore.getAll(ids);
+
+        List<UUID> misses = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            ActiveSubscriptionCacheEntry entry = entries.get(i);
+            if (entry == null) {
+                misses.add(ids.get(i));
+            } else if (entry.getSubscription() != null) {
+                result.put(ids.get(i), entry.getSubscription());
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        long startMillis = System.currentTimeMillis();
+        Map<UUID, Subscription> loaded = new HashMap<>();
+        for (Subscription subscription : subscriptionRepositoryPort.findActiveByUserIds(misses)) {
+            loaded.put(subscription.getUser().getId(), subscription);
+        }
+        long loadMillis = Math.max(1, System.currentTimeMillis() - startMillis);
+
+        writeAll(misses, loaded, loadMillis);
+        result.putAll(loaded);
+        return result;
+    }
+
+    /**
+     * Replaces the entry with a tombstone stamped with the removed subscription's version instead
+     * of deleting it, so a read-through load that fetched the subscription before the change
+     * cannot bring it back.
+     */
+    @Override
+    public void removeActiveSubscription(Subscription subscription) {
+        write(subscription.getUser().getId(), null, CacheVersion.of(subscription), negativeTtlSeconds, 0);
+    }
+
+    /**
+     * Probabilistic early expiration (XFetch): the closer the key is to expiring and the slower it
+     * was to load, the likelier a read is to reload it ahead of time, so hot keys are refreshed by
+     * a single request instead of expiring under load.
+     */
+    private boolean shouldRefreshEarly(ActiveSubscriptionCacheEntry entry) {
+        if (entry.getLoadMillis() <= 0) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        double gapMillis = entry.getLoadMillis() * earlyRefreshBeta * -Math.log(random);
+        return System.currentTimeMillis() + gapMillis >= entry.getExpiresAtMillis();
+    }
+
+    /**
+     * Concurrent misses for the same user share one database query; the callers that arrive
+     * while it runs wait for its result instead of issuing their own.
+     */
+    private Optional<Subscription> loadCoalesced(UUID userId) {
+        CompletableFuture<Optional<Subscription>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<Subscription>> inFlight = inFlightLoads.putIfAbsent(userId, load);
+        if (inFlight != null) {
+            return inFlight.join();
+        }
+
+        try {
+            Optional<Subscription> result = load(userId);
+            load.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(userId, load);
+        }
+    }
+
+    private Optional<Subscription> load(UUID userId) {
+        long startMillis = System.currentTimeMillis();
         Optional<Subscription> dbResult = subscriptionRepositoryPort.findActiveByUserId(userId);
-        dbResult.ifPresent(sub -> putActiveSubscription(userId, sub, ttlSeconds));
+        long loadMillis = Math.max(1, System.currentTimeMillis() - startMillis);
+        if (dbResult.isPresent()) {
+            write(userId, dbResult.get(), CacheVersion.of(dbResult.get()), ttlSeconds, loadMillis);
+        } else {
+            // Tombstone: users without an active subscription are cached too, for a shorter time.
+            // Creating or updating a subscription overwrites it through putActiveSubscription.
+            write(userId, null, null, negativeTtlSeconds, loadMillis);
+        }
         return dbResult;
     }
 
-    @Override
-    public void removeActiveSubscription(UUID userId) {
-        redisTemplate.delete(key(userId));
+    private void writeAll(List<UUID> userIds, Map<UUID, Subscription> loaded, long loadMillis) {
+        long now = System.currentTimeMillis();
+        Map<UUID, ActiveSubscriptionCacheEntry> entries = new HashMap<>();
+        for (UUID userId : userIds) {
+            Subscription subscription = loaded.get(userId);
+            long ttl = subscription != null ? ttlSeconds : negativeTtlSeconds;
+            entries.put(userId, new ActiveSubscriptionCacheEntry(subscription, now + TimeUnit.SECONDS.toMillis(ttl), loadMillis));
+        }
+        activeSubscriptionStore.putAll(entries, ttlSeconds, negativeTtlSeconds);
+    }
+
+    private boolean write(UUID userId, Subscription subscription, CacheVersion version, long ttlSeconds, long loadMillis) {
+        long expiresAtMillis = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds);
+        ActiveSubscriptionCacheEntry entry = new ActiveSubscriptionCacheEntry(subscription, expiresAtMillis, loadMillis);
+        boolean written = activeSubscriptionStore.put(userId, entry, version, ttlSeconds);
+        if (!written) {
+            log.debug("Skipped stale active subscription cache write for user {} at {}", userId, version);
+        }
+        return written;
     }
-}
\ No newline at end of file
+}
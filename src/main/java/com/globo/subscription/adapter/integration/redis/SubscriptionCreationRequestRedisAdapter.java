@@ -0,0 +1,67 @@
+package com.globo.subscription.adapter.integration.redis;
+
+import com.globo.subscription.core.domain.SubscriptionCreationRequest;
+import com.globo.subscription.core.domain.enums.SubscriptionRequestStatus;
+import com.globo.subscription.core.port.out.subscription.SubscriptionCreationRequestPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps each asynchronous creation request as a Redis hash that expires after the configured TTL.
+ * A request only gains fields as it moves on, so each update is written over the previous one.
+ */
+@Component
+@RequiredArgsConstructor
+public class SubscriptionCreationRequestRedisAdapter implements SubscriptionCreationRequestPort {
+
+    private static final String KEY_PREFIX = "subscription-creation-request:";
+
+    static final String USER_ID = "userId";
+    static final String STATUS = "status";
+    static final String SUBSCRIPTION_ID = "subscriptionId";
+    static final String ERROR = "error";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public void save(SubscriptionCreationRequest request, long ttlSeconds) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put(USER_ID, request.userId().toString());
+        fields.put(STATUS, request.status().name());
+        if (request.subscriptionId() != null) {
+            fields.put(SUBSCRIPTION_ID, request.subscriptionId().toString());
+        }
+        if (request.error() != null) {
+            fields.put(ERROR, request.error());
+        }
+
+        String key = key(request.id());
+        redisTemplate.opsForHash().putAll(key, fields);
+        redisTemplate.expire(key, Duration.ofSeconds(ttlSeconds));
+    }
+
+    @Override
+    public Optional<SubscriptionCreationRequest> findById(UUID requestId) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(key(requestId));
+        if (fields.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new SubscriptionCreationRequest(
+                requestId,
+                UUID.fromString((String) fields.get(USER_ID)),
+                SubscriptionRequestStatus.valueOf((String) fields.get(STATUS)),
+                fields.containsKey(SUBSCRIPTION_ID) ? UUID.fromString((String) fields.get(SUBSCRIPTION_ID)) : null,
+                (String) fields.get(ERROR)));
+    }
+
+    private static String key(UUID requestId) {
+        return KEY_PREFIX + requestId;
+    }
+}
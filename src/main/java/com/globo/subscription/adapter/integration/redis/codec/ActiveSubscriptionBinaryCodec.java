@@ -0,0 +1,243 @@
+package com.globo.subscription.adapter.integration.redis.codec;
+
+import com.globo.subscription.adapter.integration.redis.dto.ActiveSubscriptionCacheEntry;
+import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.User;
+import com.globo.subscription.core.domain.enums.SubscriptionStatus;
+import com.globo.subscription.core.domain.enums.TypePlan;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Fixed binary layout for {@link ActiveSubscriptionCacheEntry}:
+ * <pre>
+ * version:1 | presence:2 | expiresAtMillis:8 | loadMillis:8
+ * [id:16] [userId:16] [userName:utf] [userEmail:utf] [plan:1] [startDate:4] [expirationDate:4]
+ * [updatedAtSeconds:8 updatedAtNanos:4] [status:1] [renewalAttempts:4] [rowVersion:8]
+ * </pre>
+ * Fields in brackets are written only when their presence bit is set. New fields are appended with
+ * a new presence bit, so older readers skip them and newer readers see them as absent. Dates are epoch days and
+ * enums are written as the fixed codes of {@link #planCode} and {@link #statusCode}, so reordering
+ * {@link TypePlan} or {@link SubscriptionStatus} does not change the layout; a new constant needs a new code,
+ * and a code this reader does not know, like a payload of any other version, decodes to {@code null} and is
+ * reloaded as a miss.
+ */
+public class ActiveSubscriptionBinaryCodec implements RedisSerializer<ActiveSubscriptionCacheEntry> {
+
+    static final byte VERSION = 1;
+
+    private static final int SUBSCRIPTION = 1;
+    private static final int ID = 1 << 1;
+    private static final int USER = 1 << 2;
+    private static final int USER_NAME = 1 << 3;
+    private static final int USER_EMAIL = 1 << 4;
+    private static final int PLAN = 1 << 5;
+    private static final int START_DATE = 1 << 6;
+    private static final int EXPIRATION_DATE = 1 << 7;
+    private static final int UPDATED_AT = 1 << 8;
+    private static final int STATUS = 1 << 9;
+    private static final int RENEWAL_ATTEMPTS = 1 << 10;
+    private static final int ROW_VERSION = 1 << 11;
+
+    @Override
+    public byte[] serialize(ActiveSubscriptionCacheEntry entry) throws SerializationException {
+        if (entry == null) {
+            return null;
+        }
+        Subscription sub = entry.getSubscription();
+        User user = sub != null ? sub.getUser() : null;
+        int presence = presence(sub, user);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(sub != null ? 128 : 19);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeShort(presence);
+            out.writeLong(entry.getExpiresAtMillis());
+            out.writeLong(entry.getLoadMillis());
+            if (sub == null) {
+                return bytes.toByteArray();
+            }
+            if ((presence & ID) != 0) {
+                writeUuid(out, sub.getId());
+            }
+            if ((presence & USER) != 0) {
+                writeUuid(out, user.getId());
+                if ((presence & USER_NAME) != 0) {
+                    out.writeUTF(user.getName());
+                }
+                if ((presence & USER_EMAIL) != 0) {
+                    out.writeUTF(user.getEmail());
+                }
+            }
+            if (sub.getPlan() != null) {
+                out.writeByte(planCode(sub.getPlan()));
+            }
+            if (sub.getStartDate() != null) {
+                out.writeInt((int) sub.getStartDate().toEpochDay());
+            }
+            if (sub.getExpirationDate() != null) {
+                out.writeInt((int) sub.getExpirationDate().toEpochDay());
+            }
+            if (sub.getUpdatedAt() != null) {
+                out.writeLong(sub.getUpdatedAt().toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(sub.getUpdatedAt().getNano());
+            }
+            if (sub.getStatus() != null) {
+                out.writeByte(statusCode(sub.getStatus()));
+            }
+            if (sub.getRenewalAttempts() != null) {
+                out.writeInt(sub.getRenewalAttempts());
+            }
+            if (sub.getVersion() != null) {
+                out.writeLong(sub.getVersion());
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode active subscription cache entry", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public ActiveSubscriptionCacheEntry deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || bytes[0] != VERSION) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+            int presence = in.readUnsignedShort();
+            long expiresAtMillis = in.readLong();
+            long loadMillis = in.readLong();
+            if ((presence & SUBSCRIPTION) == 0) {
+                return new ActiveSubscriptionCacheEntry(null, expiresAtMillis, loadMillis);
+            }
+
+            Subscription sub = new Subscription();
+            if ((presence & ID) != 0) {
+                sub.setId(readUuid(in));
+            }
+            if ((presence & USER) != 0) {
+                User user = new User();
+                user.setId(readUuid(in));
+                if ((presence & USER_NAME) != 0) {
+                    user.setName(in.readUTF());
+                }
+                if ((presence & USER_EMAIL) != 0) {
+                    user.setEmail(in.readUTF());
+                }
+                sub.setUser(user);
+            }
+            if ((presence & PLAN) != 0) {
+                TypePlan plan = planOf(in.readUnsignedByte());
+                if (plan == null) {
+                    return null;
+                }
+                sub.setPlan(plan);
+            }
+            if ((presence & START_DATE) != 0) {
+                sub.setStartDate(LocalDate.ofEpochDay(in.readInt()));
+            }
+            if ((presence & EXPIRATION_DATE) != 0) {
+                sub.setExpirationDate(LocalDate.ofEpochDay(in.readInt()));
+            }
+            if ((presence & UPDATED_AT) != 0) {
+                sub.setUpdatedAt(LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC));
+            }
+            if ((presence & STATUS) != 0) {
+                SubscriptionStatus status = statusOf(in.readUnsignedByte());
+                if (status == null) {
+                    return null;
+                }
+                sub.setStatus(status);
+            }
+            if ((presence & RENEWAL_ATTEMPTS) != 0) {
+                sub.setRenewalAttempts(in.readInt());
+            }
+            if ((presence & ROW_VERSION) != 0) {
+                sub.setVersion(in.readLong());
+            }
+            return new ActiveSubscriptionCacheEntry(sub, expiresAtMillis, loadMillis);
+        } catch (IOException e) {
+            throw new SerializationException("Could not decode active subscription cache entry", e);
+        }
+    }
+
+    private static int presence(Subscription sub, User user) {
+        if (sub == null) {
+            return 0;
+        }
+        int presence = SUBSCRIPTION;
+        presence |= sub.getId() != null ? ID : 0;
+        if (user != null && user.getId() != null) {
+            presence |= USER;
+            presence |= user.getName() != null ? USER_NAME : 0;
+            presence |= user.getEmail() != null ? USER_EMAIL : 0;
+        }
+        presence |= sub.getPlan() != null ? PLAN : 0;
+        presence |= sub.getStartDate() != null ? START_DATE : 0;
+        presence |= sub.getExpirationDate() != null ? EXPIRATION_DATE : 0;
+        presence |= sub.getUpdatedAt() != null ? UPDATED_AT : 0;
+        presence |= sub.getStatus() != null ? STATUS : 0;
+        presence |= sub.getRenewalAttempts() != null ? RENEWAL_ATTEMPTS : 0;
+        presence |= sub.getVersion() != null ? ROW_VERSION : 0;
+        return presence;
+    }
+
+    // Wire codes: never reuse or renumber one, they are read back from entries written by older releases
+    private static int planCode(TypePlan plan) {
+        return switch (plan) {
+            case BASIC -> 0;
+            case PREMIUM -> 1;
+            case FAMILY -> 2;
+        };
+    }
+
+    private static TypePlan planOf(int code) {
+        return switch (code) {
+            case 0 -> TypePlan.BASIC;
+            case 1 -> TypePlan.PREMIUM;
+            case 2 -> TypePlan.FAMILY;
+            default -> null;
+        };
+    }
+
+    private static int statusCode(SubscriptionStatus status) {
+        return switch (status) {
+            case ACTIVE -> 0;
+            case INACTIVE -> 1;
+            case CANCELED -> 2;
+            case SUSPENDED -> 3;
+            case PENDING -> 4;
+            case PAYMENT_FAILED -> 5;
+        };
+    }
+
+    private static SubscriptionStatus statusOf(int code) {
+        return switch (code) {
+            case 0 -> SubscriptionStatus.ACTIVE;
+            case 1 -> SubscriptionStatus.INACTIVE;
+            case 2 -> SubscriptionStatus.CANCELED;
+            case 3 -> SubscriptionStatus.SUSPENDED;
+            case 4 -> SubscriptionStatus.PENDING;
+            case 5 -> SubscriptionStatus.PAYMENT_FAILED;
+            default -> null;
+        };
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
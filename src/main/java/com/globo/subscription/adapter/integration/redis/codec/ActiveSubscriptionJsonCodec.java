@@ -0,0 +1,24 @@
+package com.globo.subscription.adapter.integration.redis.codec;
+
+import com.globo.subscription.adapter.integration.redis.dto.ActiveSubscriptionCacheEntry;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * JSON layout with embedded type information, the same format used by the generic
+ * {@code redisTemplate}. Kept as the fallback codec for the active-subscription cache.
+ */
+public class ActiveSubscriptionJsonCodec implements RedisSerializer<ActiveSubscriptionCacheEntry> {
+
+    private final RedisSerializer<Object> delegate = RedisSerializer.json();
+
+    @Override
+    public byte[] serialize(ActiveSubscriptionCacheEntry entry) throws SerializationException {
+        return delegate.serialize(entry);
+    }
+
+    @Override
+    public ActiveSubscriptionCacheEntry deserialize(byte[] bytes) throws SerializationException {
+        return delegate.deserialize(bytes) instanceof ActiveSubscriptionCacheEntry entry ? entry : null;
+    }
+}
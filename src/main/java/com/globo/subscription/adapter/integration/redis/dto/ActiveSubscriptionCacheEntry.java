@@ -0,0 +1,20 @@
+package com.globo.subscription.adapter.integration.redis.dto;
+
+import com.globo.subscription.core.domain.Subscription;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Value stored under an active-subscription key. Besides the subscription it keeps when the key
+ * expires and how long the last database load took, which drive the early refresh decision.
+ * A {@code null} subscription is a tombstone for a user known to have no active subscription.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActiveSubscriptionCacheEntry {
+    private Subscription subscription;
+    private long expiresAtMillis;
+    private long loadMillis;
+}
@@ -0,0 +1,262 @@
+package com.globo.subscription.adapter.integration.redis.store;
+
+import com.globo.subscription.adapter.integration.redis.dto.ActiveSubscriptionCacheEntry;
+import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.User;
+import com.globo.subscription.core.domain.enums.SubscriptionStatus;
+import com.globo.subscription.core.domain.enums.TypePlan;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Stores each entry as a Redis hash with one field per attribute, so callers that need only a few
+ * attributes read them with {@code HMGET} instead of fetching and decoding the whole subscription.
+ * The version stamp of the entry lives in the same hash.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "redis.cache.storage", havingValue = "hash")
+public class ActiveSubscriptionHashStore implements ActiveSubscriptionStore {
+
+    static final String ID = "id";
+    static final String USER_ID = "userId";
+    static final String USER_NAME = "userName";
+    static final String USER_EMAIL = "userEmail";
+    static final String PLAN = "plan";
+    static final String START_DATE = "startDate";
+    static final String EXPIRATION_DATE = "expirationDate";
+    static final String UPDATED_AT = "updatedAt";
+    static final String STATUS = "status";
+    static final String RENEWAL_ATTEMPTS = "renewalAttempts";
+    static final String VERSION = "version";
+    static final String TOMBSTONE = "tombstone";
+    static final String EXPIRES_AT = "expiresAt";
+    static final String LOAD_MILLIS = "loadMillis";
+
+    static final String STAMP_ID = "stampId";
+    static final String STAMP_VERSION = "stampVersion";
+    static final String STAMP_UPDATED_AT = "stampUpdatedAt";
+
+    /**
+     * KEYS: hash. ARGV: ttl, subscription id ('' when unstamped), version, '1' to write only when
+     * the hash is absent, update time in epoch millis ('0' when unknown), then field/value pairs.
+     * The hash is replaced as a whole, so readers never see fields of two different entries.
+     */
+    private static final byte[] PUT_SCRIPT = """
+            if ARGV[4] == '1' and redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            local current = redis.call('HMGET', KEYS[1], 'stampId', 'stampVersion', 'stampUpdatedAt')
+            if current[1] then
+                if ARGV[2] == '' then
+                    return 0
+                end
+                if current[1] == ARGV[2] then
+                    if tonumber(ARGV[3]) < tonumber(current[2]) then
+                        return 0
+                    end
+                elseif current[3] and tonumber(current[3]) > 0 and tonumber(ARGV[5]) > 0
+                        and tonumber(ARGV[5]) < tonumber(current[3]) then
+                    return 0
+                end
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], unpack(ARGV, 6))
+            if ARGV[2] ~= '' then
+                redis.call('HSET', KEYS[1], 'stampId', ARGV[2], 'stampVersion', ARGV[3], 'stampUpdatedAt', ARGV[5])
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private static final List<Object> ENTITLEMENT_FIELDS = List.of(PLAN, STATUS, EXPIRATION_DATE, TOMBSTONE, EXPIRES_AT, LOAD_MILLIS);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private String key(UUID userId) {
+        return "active-subscription-hash:" + userId;
+    }
+
+    @Override
+    public ActiveSubscriptionCacheEntry get(UUID userId) {
+        return fromHash(stringRedisTemplate.opsForHash().entries(key(userId)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ActiveSubscriptionCacheEntry> getAll(List<UUID> userIds) {
+        List<Object> hashes = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                for (UUID userId : userIds) {
+                    operations.opsForHash().entries((K) key(userId));
+                }
+                return null;
+            }
+        });
+        List<ActiveSubscriptionCacheEntry> entries = new ArrayList<>(userIds.size());
+        for (Object hash : hashes) {
+            entries.add(hash instanceof Map<?, ?> map ? fromHash((Map<Object, Object>) map) : null);
+        }
+        return entries;
+    }
+
+    @Override
+    public ActiveSubscriptionCacheEntry getEntitlement(UUID userId) {
+        List<Object> values = stringRedisTemplate.opsForHash().multiGet(key(userId), ENTITLEMENT_FIELDS);
+        Map<Object, Object> hash = new HashMap<>();
+        for (int i = 0; i < ENTITLEMENT_FIELDS.size(); i++) {
+            if (values.get(i) != null) {
+                hash.put(ENTITLEMENT_FIELDS.get(i), values.get(i));
+            }
+        }
+        return fromHash(hash);
+    }
+
+    @Override
+    public boolean put(UUID userId, ActiveSubscriptionCacheEntry entry, CacheVersion version, long ttlSeconds) {
+        Long written = stringRedisTemplate.execute((RedisCallback<Long>) connection ->
+                eval(connection, userId, entry, version, ttlSeconds, false));
+        return written != null && written == 1L;
+    }
+
+    @Override
+    public Set<UUID> putAll(Map<UUID, ActiveSubscriptionCacheEntry> entries, long ttlSeconds, long tombstoneTtlSeconds) {
+        List<UUID> userIds = new ArrayList<>(entries.keySet());
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (UUID userId : userIds) {
+                ActiveSubscriptionCacheEntry entry = entries.get(userId);
+                eval(connection, userId, entry, CacheVersion.of(entry.getSubscription()),
+                        entry.getSubscription() != null ? ttlSeconds : tombstoneTtlSeconds, false);
+            }
+            return null;
+        });
+        Set<UUID> written = new HashSet<>();
+        for (int i = 0; i < userIds.size() && i < results.size(); i++) {
+            if (Long.valueOf(1L).equals(results.get(i))) {
+                written.add(userIds.get(i));
+            }
+        }
+        return written;
+    }
+
+    @Override
+    public void putAllIfAbsent(Map<UUID, ActiveSubscriptionCacheEntry> entries, long ttlSeconds) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            entries.forEach((userId, entry) ->
+                    eval(connection, userId, entry, CacheVersion.of(entry.getSubscription()), ttlSeconds, true));
+            return null;
+        });
+    }
+
+    @Override
+    public void remove(UUID userId) {
+        stringRedisTemplate.delete(key(userId));
+    }
+
+    /**
+     * Uses EVAL rather than EVALSHA so the script also runs inside a pipeline, where a missing
+     * script cache entry could not be retried.
+     */
+    private Long eval(RedisConnection connection, UUID userId, ActiveSubscriptionCacheEntry entry,
+                      CacheVersion version, long ttlSeconds, boolean onlyIfAbsent) {
+        List<byte[]> keysAndArgs = new ArrayList<>();
+        keysAndArgs.add(bytes(key(userId)));
+        keysAndArgs.add(bytes(Long.toString(ttlSeconds)));
+        keysAndArgs.add(bytes(version != null ? version.subscriptionId().toString() : ""));
+        keysAndArgs.add(bytes(Long.toString(version != null ? version.version() : 0L)));
+        keysAndArgs.add(bytes(onlyIfAbsent ? "1" : "0"));
+        keysAndArgs.add(bytes(Long.toString(version != null ? version.updatedAtMillis() : 0L)));
+        toHash(entry).forEach((field, value) -> {
+            keysAndArgs.add(bytes(field));
+            keysAndArgs.add(bytes(value));
+        });
+        return connection.scriptingCommands().eval(PUT_SCRIPT, ReturnType.INTEGER, 1, keysAndArgs.toArray(new byte[0][]));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static Map<String, String> toHash(ActiveSubscriptionCacheEntry entry) {
+        Map<String, String> hash = new HashMap<>();
+        hash.put(EXPIRES_AT, Long.toString(entry.getExpiresAtMillis()));
+        hash.put(LOAD_MILLIS, Long.toString(entry.getLoadMillis()));
+        Subscription sub = entry.getSubscription();
+        if (sub == null) {
+            hash.put(TOMBSTONE, "1");
+            return hash;
+        }
+        putIfPresent(hash, ID, sub.getId());
+        if (sub.getUser() != null) {
+            putIfPresent(hash, USER_ID, sub.getUser().getId());
+            putIfPresent(hash, USER_NAME, sub.getUser().getName());
+            putIfPresent(hash, USER_EMAIL, sub.getUser().getEmail());
+        }
+        putIfPresent(hash, PLAN, sub.getPlan() != null ? sub.getPlan().name() : null);
+        putIfPresent(hash, START_DATE, sub.getStartDate());
+        putIfPresent(hash, EXPIRATION_DATE, sub.getExpirationDate());
+        putIfPresent(hash, UPDATED_AT, sub.getUpdatedAt());
+        putIfPresent(hash, STATUS, sub.getStatus() != null ? sub.getStatus().name() : null);
+        putIfPresent(hash, RENEWAL_ATTEMPTS, sub.getRenewalAttempts());
+        putIfPresent(hash, VERSION, sub.getVersion());
+        return hash;
+    }
+
+    static ActiveSubscriptionCacheEntry fromHash(Map<Object, Object> hash) {
+        if (hash == null || !hash.containsKey(EXPIRES_AT)) {
+            return null;
+        }
+        long expiresAtMillis = Long.parseLong((String) hash.get(EXPIRES_AT));
+        long loadMillis = Long.parseLong((String) hash.getOrDefault(LOAD_MILLIS, "0"));
+        if (hash.containsKey(TOMBSTONE)) {
+            return new ActiveSubscriptionCacheEntry(null, expiresAtMillis, loadMillis);
+        }
+
+        Subscription sub = new Subscription();
+        sub.setId(parse(hash, ID, UUID::fromString));
+        UUID userId = parse(hash, USER_ID, UUID::fromString);
+        if (userId != null) {
+            sub.setUser(new User(userId, (String) hash.get(USER_NAME), (String) hash.get(USER_EMAIL)));
+        }
+        sub.setPlan(parse(hash, PLAN, TypePlan::valueOf));
+        sub.setStartDate(parse(hash, START_DATE, LocalDate::parse));
+        sub.setExpirationDate(parse(hash, EXPIRATION_DATE, LocalDate::parse));
+        sub.setUpdatedAt(parse(hash, UPDATED_AT, LocalDateTime::parse));
+        sub.setStatus(parse(hash, STATUS, SubscriptionStatus::valueOf));
+        sub.setRenewalAttempts(parse(hash, RENEWAL_ATTEMPTS, Integer::valueOf));
+        sub.setVersion(parse(hash, VERSION, Long::valueOf));
+        return new ActiveSubscriptionCacheEntry(sub, expiresAtMillis, loadMillis);
+    }
+
+    private static void putIfPresent(Map<String, String> hash, String field, Object value) {
+        if (value != null) {
+            hash.put(field, value.toString());
+        }
+    }
+
+    private static <T> T parse(Map<Object, Object> hash, String field, Function<String, T> parser) {
+        Object value = hash.get(field);
+        return value != null ? parser.apply((String) value) : null;
+    }
+}
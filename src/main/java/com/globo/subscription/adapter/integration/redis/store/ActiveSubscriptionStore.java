@@ -0,0 +1,53 @@
+package com.globo.subscription.adapter.integration.redis.store;
+
+import com.globo.subscription.adapter.integration.redis.dto.ActiveSubscriptionCacheEntry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Redis layout used by the active-subscription cache. Reads return {@code null} on a miss.
+ * <p>
+ * Writes are compare-and-set on a {@link CacheVersion}: a stamped write is skipped when the cache
+ * holds a higher version of the same subscription, and an unstamped write (a tombstone loaded from
+ * the database) is skipped when the cache holds any stamped entry.
+ */
+public interface ActiveSubscriptionStore {
+
+    ActiveSubscriptionCacheEntry get(UUID userId);
+
+    /**
+     * @return one entry per user id, in the same order, {@code null} for misses
+     */
+    List<ActiveSubscriptionCacheEntry> getAll(List<UUID> userIds);
+
+    /**
+     * Reads at least the plan, status and expiration date of the cached subscription;
+     * other subscription fields may be left empty.
+     */
+    ActiveSubscriptionCacheEntry getEntitlement(UUID userId);
+
+    /**
+     * @param version stamp of the write, or {@code null} for an unstamped tombstone
+     * @return whether the entry was written
+     */
+    boolean put(UUID userId, ActiveSubscriptionCacheEntry entry, CacheVersion version, long ttlSeconds);
+
+    /**
+     * Writes all entries in one round trip, each stamped with the version of its subscription;
+     * tombstones are unstamped and get {@code tombstoneTtlSeconds}.
+     *
+     * @return the user ids whose entry was written
+     */
+    Set<UUID> putAll(Map<UUID, ActiveSubscriptionCacheEntry> entries, long ttlSeconds, long tombstoneTtlSeconds);
+
+    /**
+     * Writes, in one round trip, only the entries whose key does not exist yet, so a bulk load
+     * never overwrites an entry written by a concurrent update.
+     */
+    void putAllIfAbsent(Map<UUID, ActiveSubscriptionCacheEntry> entries, long ttlSeconds);
+
+    void remove(UUID userId);
+}
@@ -0,0 +1,156 @@
+package com.globo.subscription.adapter.integration.redis.store;
+
+import com.globo.subscription.adapter.integration.redis.dto.ActiveSubscriptionCacheEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Stores each entry as a single string value encoded by the configured codec. The version stamp
+ * of the entry is kept in a companion key with the same TTL, since the encoded value is opaque
+ * to the compare-and-set script.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "redis.cache.storage", havingValue = "value", matchIfMissing = true)
+public class ActiveSubscriptionValueStore implements ActiveSubscriptionStore {
+
+    /**
+     * KEYS: value, version. ARGV: payload, ttl, subscription id ('' when unstamped), version,
+     * '1' to write only when the value is absent, update time in epoch millis ('0' when unknown).
+     * The version key holds {@code id:version:updatedAt}; stamps written before the update time
+     * was added have no third part and are compared by version only.
+     */
+    private static final byte[] PUT_SCRIPT = """
+            if ARGV[5] == '1' and redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            local current = redis.call('GET', KEYS[2])
+            if current then
+                if ARGV[3] == '' then
+                    return 0
+                end
+                local id, version, updatedAt = string.match(current, '^([^:]+):([^:]+):?(%d*)$')
+                if id == ARGV[3] then
+                    if tonumber(ARGV[4]) < tonumber(version) then
+                        return 0
+                    end
+                elseif updatedAt ~= '' and tonumber(updatedAt) > 0 and tonumber(ARGV[6]) > 0
+                        and tonumber(ARGV[6]) < tonumber(updatedAt) then
+                    return 0
+                end
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2])
+            if ARGV[3] == '' then
+                redis.call('DEL', KEYS[2])
+            else
+                redis.call('SET', KEYS[2], ARGV[3] .. ':' .. ARGV[4] .. ':' .. ARGV[6], 'EX', ARGV[2])
+            end
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, ActiveSubscriptionCacheEntry> activeSubscriptionRedisTemplate;
+
+    private String key(UUID userId) {
+        return "active-subscription:" + userId;
+    }
+
+    private String versionKey(UUID userId) {
+        return "active-subscription-version:" + userId;
+    }
+
+    @Override
+    public ActiveSubscriptionCacheEntry get(UUID userId) {
+        return activeSubscriptionRedisTemplate.opsForValue().get(key(userId));
+    }
+
+    @Override
+    public List<ActiveSubscriptionCacheEntry> getAll(List<UUID> userIds) {
+        List<ActiveSubscriptionCacheEntry> entries = activeSubscriptionRedisTemplate.opsForValue()
+                .multiGet(userIds.stream().map(this::key).toList());
+        return entries != null ? entries : Collections.nCopies(userIds.size(), null);
+    }
+
+    @Override
+    public ActiveSubscriptionCacheEntry getEntitlement(UUID userId) {
+        return get(userId);
+    }
+
+    @Override
+    public boolean put(UUID userId, ActiveSubscriptionCacheEntry entry, CacheVersion version, long ttlSeconds) {
+        Long written = activeSubscriptionRedisTemplate.execute((RedisCallback<Long>) connection ->
+                eval(connection, userId, entry, version, ttlSeconds, false));
+        return written != null && written == 1L;
+    }
+
+    @Override
+    public Set<UUID> putAll(Map<UUID, ActiveSubscriptionCacheEntry> entries, long ttlSeconds, long tombstoneTtlSeconds) {
+        List<UUID> userIds = new ArrayList<>(entries.keySet());
+        List<Object> results = activeSubscriptionRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (UUID userId : userIds) {
+                ActiveSubscriptionCacheEntry entry = entries.get(userId);
+                eval(connection, userId, entry, CacheVersion.of(entry.getSubscription()),
+                        entry.getSubscription() != null ? ttlSeconds : tombstoneTtlSeconds, false);
+            }
+            return null;
+        });
+        Set<UUID> written = new HashSet<>();
+        for (int i = 0; i < userIds.size() && i < results.size(); i++) {
+            if (Long.valueOf(1L).equals(results.get(i))) {
+                written.add(userIds.get(i));
+            }
+        }
+        return written;
+    }
+
+    @Override
+    public void putAllIfAbsent(Map<UUID, ActiveSubscriptionCacheEntry> entries, long ttlSeconds) {
+        activeSubscriptionRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            entries.forEach((userId, entry) ->
+                    eval(connection, userId, entry, CacheVersion.of(entry.getSubscription()), ttlSeconds, true));
+            return null;
+        });
+    }
+
+    @Override
+    public void remove(UUID userId) {
+        activeSubscriptionRedisTemplate.delete(List.of(key(userId), versionKey(userId)));
+    }
+
+    /**
+     * Uses EVAL rather than EVALSHA so the script also runs inside a pipeline, where a missing
+     * script cache entry could not be retried.
+     */
+    @SuppressWarnings("unchecked")
+    private Long eval(RedisConnection connection, UUID userId, ActiveSubscriptionCacheEntry entry,
+                      CacheVersion version, long ttlSeconds, boolean onlyIfAbsent) {
+        byte[] payload = ((RedisSerializer<ActiveSubscriptionCacheEntry>) activeSubscriptionRedisTemplate.getValueSerializer()).serialize(entry);
+        return connection.scriptingCommands().eval(PUT_SCRIPT, ReturnType.INTEGER, 2,
+                bytes(key(userId)),
+                bytes(versionKey(userId)),
+                payload,
+                bytes(Long.toString(ttlSeconds)),
+                bytes(version != null ? version.subscriptionId().toString() : ""),
+                bytes(Long.toString(version != null ? version.version() : 0L)),
+                bytes(onlyIfAbsent ? "1" : "0"),
+                bytes(Long.toString(version != null ? version.updatedAtMillis() : 0L)));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
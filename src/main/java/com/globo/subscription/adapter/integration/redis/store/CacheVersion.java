@@ -0,0 +1,28 @@
+package com.globo.subscription.adapter.integration.redis.store;
+
+import com.globo.subscription.core.domain.Subscription;
+
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Version stamp of a cache write: the subscription it describes, that subscription's row version
+ * and its last update time. A write is rejected when the cache already holds a higher version of
+ * the same subscription, or an entry of another subscription updated later, so a slow writer can
+ * no longer replace a newer entry with an older one — not even after the user moved on to a new
+ * subscription. An update time of {@code 0} means unknown and never wins nor loses that comparison.
+ */
+public record CacheVersion(UUID subscriptionId, long version, long updatedAtMillis) {
+
+    /**
+     * @return the stamp of {@code subscription}, or {@code null} when it has not been persisted
+     */
+    public static CacheVersion of(Subscription subscription) {
+        if (subscription == null || subscription.getId() == null) {
+            return null;
+        }
+        return new CacheVersion(subscription.getId(),
+                subscription.getVersion() != null ? subscription.getVersion() : 0L,
+                subscription.getUpdatedAt() != null ? subscription.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : 0L);
+    }
+}
@@ -0,0 +1,99 @@
+package com.globo.subscription.adapter.integration.wallet;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.globo.subscription.core.port.out.wallet.WalletCachePort;
+import com.globo.subscription.core.port.out.wallet.WalletPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * In-process cache in front of {@link WalletAdapter}. A wallet practically never disappears once
+ * created, so an existing wallet is remembered for a long time, while a missing one is remembered
+ * only briefly so a wallet created right after a failed attempt is seen quickly. Errors from the
+ * wallet service are not cached.
+ * <p>
+ * Lookups run outside the cache's compute, so a slow wallet call blocks only its own caller and
+ * never a cache bin (nor pins the virtual thread running it); two concurrent misses for the same
+ * user may both call the service. Evictions are broadcast on a Redis channel so the other
+ * instances drop their entry as well.
+ */
+@Slf4j
+@Primary
+@Component
+public class CachingWalletAdapter implements WalletPort, WalletCachePort, MessageListener {
+
+    private static final String SEPARATOR = ":";
+
+    private final WalletAdapter walletAdapter;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<UUID, Boolean> cache;
+    private final String invalidationChannel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CachingWalletAdapter(WalletAdapter walletAdapter,
+                                StringRedisTemplate stringRedisTemplate,
+                                @Value("${integrations.wallet.cache.max-size:100000}") long maxSize,
+                                @Value("${integrations.wallet.cache.positive-ttl-seconds:86400}") long positiveTtlSeconds,
+                                @Value("${integrations.wallet.cache.negative-ttl-seconds:30}") long negativeTtlSeconds,
+                                @Value("${integrations.wallet.cache.invalidation-channel:wallet-invalidation}") String invalidationChannel) {
+        this.walletAdapter = walletAdapter;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.invalidationChannel = invalidationChannel;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((UUID userId, Boolean exists) ->
+                        Duration.ofSeconds(exists ? positiveTtlSeconds : negativeTtlSeconds)))
+                .build();
+    }
+
+    @Override
+    public boolean existsWallet(UUID userId) {
+        Boolean cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        boolean exists = walletAdapter.existsWallet(userId);
+        cache.put(userId, exists);
+        return exists;
+    }
+
+    @Override
+    public void evictWallet(UUID userId) {
+        cache.invalidate(userId);
+        log.debug("Wallet cache entry evicted for user {}", userId);
+        try {
+            stringRedisTemplate.convertAndSend(invalidationChannel, nodeId + SEPARATOR + userId);
+        } catch (Exception e) {
+            log.warn("Failed to publish wallet cache invalidation for user {}", userId, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(SEPARATOR);
+        if (separator < 0 || nodeId.equals(body.substring(0, separator))) {
+            return;
+        }
+        try {
+            cache.invalidate(UUID.fromString(body.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed wallet cache invalidation message: {}", body);
+        }
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+}
@@ -2,33 +2,59 @@ package com.globo.subscription.adapter.integration.wallet;
 
 import com.globo.subscription.adapter.integration.wallet.dto.WalletResponse;
 import com.globo.subscription.core.exception.BusinessException;
+import com.globo.subscription.core.exception.WalletUnavailableException;
 import com.globo.subscription.core.port.out.wallet.WalletPort;
+import feign.FeignException;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.HttpClientErrorException;
 
 import java.util.UUID;
+import java.util.function.Supplier;
 
+/**
+ * Calls run through the wallet bulkhead and circuit breaker. A missing wallet (404) is a normal
+ * answer, not a failure, so it never counts towards opening the circuit.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class WalletAdapter implements WalletPort {
 
     private final WalletFeignClient walletFeignClient;
+    private final CircuitBreaker walletCircuitBreaker;
+    private final Bulkhead walletBulkhead;
 
     @Override
     public boolean existsWallet(UUID userId) {
+        Supplier<Boolean> call = Bulkhead.decorateSupplier(walletBulkhead,
+                CircuitBreaker.decorateSupplier(walletCircuitBreaker, () -> fetchWallet(userId)));
+        try {
+            return call.get();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Consulta de carteira do usuário {} rejeitada sem chamar o serviço: {}", userId, e.getMessage());
+            throw new WalletUnavailableException("Serviço de carteira indisponível no momento. Tente novamente em instantes.", e);
+        } catch (RetryableException e) {
+            log.error("Tempo esgotado ao consultar carteira do usuário {}", userId, e);
+            throw new WalletUnavailableException("Serviço de carteira indisponível no momento. Tente novamente em instantes.", e);
+        } catch (Exception exception) {
+            log.error("Erro ao consultar carteira do usuário {}", userId, exception);
+            throw new BusinessException("Erro ao consultar carteira do usuário " + userId);
+        }
+    }
 
+    private boolean fetchWallet(UUID userId) {
         try {
             WalletResponse response = walletFeignClient.getWallet(userId);
             return response != null && response.userId() != null;
-        } catch (HttpClientErrorException.NotFound e) {
+        } catch (FeignException.NotFound e) {
             log.info("Carteira não encontrada para usuário {}", userId);
             return false;
-        } catch (Exception exception) {
-            log.error("Erro ao consultar carteira do usuário {}", userId, exception);
-            throw new BusinessException("Erro ao consultar carteira do usuário " + userId);
         }
     }
 }
@@ -3,7 +3,8 @@ package com.globo.subscription.adapter.kafka;
 import com.globo.subscription.adapter.kafka.dto.CreditRefundEvent;
 import com.globo.subscription.adapter.kafka.dto.DebitAmountEvent;
 import com.globo.subscription.adapter.kafka.dto.DebitSubscriptionPlanEvent;
-import com.globo.subscription.adapter.kafka.producer.PaymentEventProducer;
+import com.globo.subscription.adapter.kafka.outbox.PaymentEventType;
+import com.globo.subscription.adapter.kafka.outbox.PaymentOutbox;
 import com.globo.subscription.core.domain.enums.TypePlan;
 import com.globo.subscription.core.port.out.payment.PaymentPort;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +19,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PaymentKafkaAdapter implements PaymentPort {
 
-    private final PaymentEventProducer paymentEventProducer;
+    private final PaymentOutbox paymentOutbox;
 
     @Override
     public void debitSubscriptionPlan(UUID userId, TypePlan plan, UUID subscriptionId) {
@@ -31,8 +32,8 @@ public class PaymentKafkaAdapter implements PaymentPort {
                 .subscriptionId(subscriptionId)
                 .build();
 
-        paymentEventProducer.sendDebitSubscriptionPlanEvent(event);
-        log.info("Debit subscription plan event published - userId: {}, plan: {}, subscriptionId: {}", userId, plan, subscriptionId);
+        paymentOutbox.enqueue(PaymentEventType.DEBIT_SUBSCRIPTION_PLAN, userId.toString(), event);
+        log.info("Debit subscription plan event enqueued - userId: {}, plan: {}, subscriptionId: {}", userId, plan, subscriptionId);
     }
 
     @Override
@@ -47,9 +48,9 @@ public class PaymentKafkaAdapter implements PaymentPort {
                 .subscriptionId(subscriptionId)
                 .build();
 
-        paymentEventProducer.sendDebitAmountEvent(event);
+        paymentOutbox.enqueue(PaymentEventType.DEBIT_AMOUNT, userId.toString(), event);
 
-        log.info("Debit amount event published - userId: {}, amount: {}", userId, amount);
+        log.info("Debit amount event enqueued - userId: {}, amount: {}", userId, amount);
     }
 
     @Override
@@ -64,7 +65,7 @@ public class PaymentKafkaAdapter implements PaymentPort {
                 .subscriptionId(subscriptionId)
                 .build();
 
-        paymentEventProducer.sendCreditRefundEvent(event);
-        log.info("Credit refund event published - userId: {}, amount: {}", userId, amount);
+        paymentOutbox.enqueue(PaymentEventType.CREDIT_REFUND, userId.toString(), event);
+        log.info("Credit refund event enqueued - userId: {}, amount: {}", userId, amount);
     }
 }
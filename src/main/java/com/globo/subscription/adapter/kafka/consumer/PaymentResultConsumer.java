@@ -0,0 +1,78 @@
+package com.globo.subscription.adapter.kafka.consumer;
+
+import com.globo.subscription.adapter.kafka.dto.PaymentResultEvent;
+import com.globo.subscription.adapter.kafka.dto.PaymentResultStatus;
+import com.globo.subscription.core.domain.PaymentResult;
+import com.globo.subscription.core.exception.ActiveSubscriptionAlreadyExistsException;
+import com.globo.subscription.core.exception.BusinessException;
+import com.globo.subscription.core.port.in.subscription.ApplyPaymentResultsPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consumes the wallet's payment results a poll at a time. The wallet keys them by user id, so the
+ * results of a user stay in order on one partition and each partition is handled by a single
+ * consumer thread. A batch failing on an infrastructure error is redelivered as a whole, which is
+ * safe because only pending subscriptions are moved; one failing on a business rule is applied
+ * again a result at a time, and the first result that cannot be applied is reported to the error
+ * handler with its index so it alone goes to the dead letter topic (see {@code KafkaConsumerConfig}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentResultConsumer {
+
+    private final ApplyPaymentResultsPort applyPaymentResultsPort;
+
+    @KafkaListener(
+            id = "payment-result-consumer",
+            topics = "${kafka.topics.payment-result}",
+            batch = "true",
+            concurrency = "${kafka.consumers.payment-result.concurrency:3}",
+            properties = "spring.json.value.default.type=com.globo.subscription.adapter.kafka.dto.PaymentResultEvent")
+    public void consume(List<ConsumerRecord<String, PaymentResultEvent>> records) {
+        List<PaymentResult> results = new ArrayList<>(records.size());
+        List<Integer> indexes = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, PaymentResultEvent> record = records.get(i);
+            PaymentResultEvent event = record.value();
+            // Records that could not be deserialized arrive with a null value
+            if (event == null || event.getSubscriptionId() == null || event.getStatus() == null) {
+                log.warn("Skipping unreadable payment result - topic: {}, partition: {}, offset: {}",
+                        record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            results.add(new PaymentResult(event.getSubscriptionId(), event.getUserId(),
+                    event.getStatus() == PaymentResultStatus.APPROVED));
+            indexes.add(i);
+        }
+
+        if (!results.isEmpty()) {
+            try {
+                applyPaymentResultsPort.execute(results);
+            } catch (BusinessException | ActiveSubscriptionAlreadyExistsException e) {
+                log.warn("Payment result batch rejected ({}) - applying its {} results one by one", e.getMessage(), results.size());
+                applyOneByOne(results, indexes);
+            }
+        }
+        log.info("Consumed {} payment results", records.size());
+    }
+
+    private void applyOneByOne(List<PaymentResult> results, List<Integer> indexes) {
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                applyPaymentResultsPort.execute(List.of(results.get(i)));
+            } catch (BusinessException | ActiveSubscriptionAlreadyExistsException e) {
+                throw new BatchListenerFailedException("Payment result of subscription "
+                        + results.get(i).subscriptionId() + " cannot be applied", e, indexes.get(i));
+            }
+        }
+    }
+}
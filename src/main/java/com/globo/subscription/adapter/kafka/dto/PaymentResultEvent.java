@@ -0,0 +1,19 @@
+package com.globo.subscription.adapter.kafka.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentResultEvent {
+    private UUID userId;
+    private UUID subscriptionId;
+    private PaymentResultStatus status;
+    private String description;
+}
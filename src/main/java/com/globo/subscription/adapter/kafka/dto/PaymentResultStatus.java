@@ -0,0 +1,6 @@
+package com.globo.subscription.adapter.kafka.dto;
+
+public enum PaymentResultStatus {
+    APPROVED,
+    DECLINED
+}
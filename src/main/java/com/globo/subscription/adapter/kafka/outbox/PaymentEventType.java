@@ -0,0 +1,17 @@
+package com.globo.subscription.adapter.kafka.outbox;
+
+import com.globo.subscription.adapter.kafka.dto.CreditRefundEvent;
+import com.globo.subscription.adapter.kafka.dto.DebitAmountEvent;
+import com.globo.subscription.adapter.kafka.dto.DebitSubscriptionPlanEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum PaymentEventType {
+    DEBIT_SUBSCRIPTION_PLAN(DebitSubscriptionPlanEvent.class),
+    DEBIT_AMOUNT(DebitAmountEvent.class),
+    CREDIT_REFUND(CreditRefundEvent.class);
+
+    private final Class<?> eventClass;
+}
@@ -0,0 +1,55 @@
+package com.globo.subscription.adapter.kafka.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.globo.subscription.adapter.datasource.database.entity.PaymentOutboxEntity;
+import com.globo.subscription.adapter.datasource.database.repository.outbox.PaymentOutboxRepository;
+import com.globo.subscription.adapter.kafka.util.TraceUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stores payment events in the {@code payment_outbox} table. It joins the caller's transaction,
+ * so an event exists if and only if the subscription change that produced it was committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentOutbox {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    private final PaymentOutboxRepository paymentOutboxRepository;
+
+    @Transactional
+    public void enqueue(PaymentEventType type, String key, Object event) {
+        PaymentOutboxEntity entity = new PaymentOutboxEntity();
+        entity.setEventType(type.name());
+        entity.setMessageKey(key);
+        entity.setPayload(serialize(event));
+        entity.setTraceId(TraceUtil.getCurrentTraceId());
+        entity.setAttempts(0);
+        entity.setCreatedAt(LocalDateTime.now());
+        entity.setNextAttemptAt(entity.getCreatedAt());
+
+        paymentOutboxRepository.save(entity);
+        log.debug("Payment event {} enqueued in outbox - key: {}", type, key);
+    }
+
+    static Object deserialize(PaymentOutboxEntity entity) throws JsonProcessingException {
+        PaymentEventType type = PaymentEventType.valueOf(entity.getEventType());
+        return OBJECT_MAPPER.readValue(entity.getPayload(), type.getEventClass());
+    }
+
+    private String serialize(Object event) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize payment event " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.globo.subscription.adapter.kafka.outbox;
+
+import com.globo.subscription.adapter.datasource.database.entity.PaymentOutboxEntity;
+import com.globo.subscription.adapter.datasource.database.repository.outbox.PaymentOutboxRepository;
+import com.globo.subscription.adapter.kafka.dto.CreditRefundEvent;
+import com.globo.subscription.adapter.kafka.dto.DebitAmountEvent;
+import com.globo.subscription.adapter.kafka.dto.DebitSubscriptionPlanEvent;
+import com.globo.subscription.adapter.kafka.producer.PaymentEventProducer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the payment outbox to Kafka. A batch is leased in a short transaction of its own and sent
+ * outside any transaction, so no row lock or connection is held while the broker acknowledges.
+ * The whole batch is handed to the producer before any acknowledgement is awaited, so the producer
+ * can group the records by partition and compress them together, and the batch shares a single
+ * send deadline. Rows are deleted only after the broker acknowledged them; rows that failed stay
+ * in the table and are retried with exponential backoff, including after a restart, and rows of a
+ * relay that died mid-batch are picked up again once their lease expires. After
+ * {@code max-attempts} failures a row is kept as a dead letter and no longer relayed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentOutboxRelay {
+
+    @Value("${payment.outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${payment.outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${payment.outbox.relay.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${payment.outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${payment.outbox.relay.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${payment.outbox.relay.max-retry-backoff-ms:300000}")
+    private long maxRetryBackoffMs;
+
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final PaymentEventProducer paymentEventProducer;
+    private final TransactionOperations transactionOperations;
+
+    @Scheduled(fixedDelayString = "${payment.outbox.relay.fixed-delay-ms:200}")
+    public void relay() {
+        boolean drainMore;
+        do {
+            drainMore = relayBatch();
+        } while (drainMore);
+    }
+
+    /**
+     * @return {@code true} when a full batch was sent without failures and more events may be waiting
+     */
+    boolean relayBatch() {
+        List<PaymentOutboxEntity> batch = paymentOutboxRepository.leaseNextBatch(batchSize, leaseMs);
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        List<CompletableFuture<?>> futures = new ArrayList<>(batch.size());
+        for (PaymentOutboxEntity entity : batch) {
+            futures.add(publish(entity));
+        }
+        awaitAcknowledgements(futures);
+
+        List<Long> sentIds = new ArrayList<>();
+        List<Long> failedIds = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            PaymentOutboxEntity entity = batch.get(i);
+            CompletableFuture<?> future = futures.get(i);
+            if (future.state() == Future.State.SUCCESS) {
+                sentIds.add(entity.getId());
+                continue;
+            }
+            if (future.state() == Future.State.FAILED) {
+                log.error("Failed to relay outbox event {} ({}) - attempt {}",
+                        entity.getId(), entity.getEventType(), entity.getAttempts() + 1, future.exceptionNow());
+            } else {
+                log.error("Outbox event {} ({}) not acknowledged within {} ms - attempt {}",
+                        entity.getId(), entity.getEventType(), sendTimeoutMs, entity.getAttempts() + 1);
+            }
+            failedIds.add(entity.getId());
+            if (entity.getAttempts() + 1 >= maxAttempts) {
+                log.error("Outbox event {} ({}) moved to dead letter after {} attempts",
+                        entity.getId(), entity.getEventType(), entity.getAttempts() + 1);
+            }
+        }
+
+        transactionOperations.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                paymentOutboxRepository.deleteAllByIdInBatch(sentIds);
+            }
+            if (!failedIds.isEmpty()) {
+                paymentOutboxRepository.recordFailedAttempt(failedIds, maxAttempts, retryBackoffMs, maxRetryBackoffMs);
+            }
+        });
+
+        log.info("Payment outbox batch relayed - Sent: {}, Failed: {}", sentIds.size(), failedIds.size());
+        return failedIds.isEmpty() && batch.size() == batchSize;
+    }
+
+    /**
+     * Waits until every send is settled or the batch deadline passes; the outcome of each send is
+     * read from its future afterwards, so a failure or a timeout here needs no handling.
+     */
+    private void awaitAcknowledgements(List<CompletableFuture<?>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Reported per event by the caller
+        }
+    }
+
+    private CompletableFuture<?> publish(PaymentOutboxEntity entity) {
+        try {
+            Object event = PaymentOutbox.deserialize(entity);
+            return switch (PaymentEventType.valueOf(entity.getEventType())) {
+                case DEBIT_SUBSCRIPTION_PLAN ->
+                        paymentEventProducer.sendDebitSubscriptionPlanEvent((DebitSubscriptionPlanEvent) event, entity.getTraceId());
+                case DEBIT_AMOUNT ->
+                        paymentEventProducer.sendDebitAmountEvent((DebitAmountEvent) event, entity.getTraceId());
+                case CREDIT_REFUND ->
+                        paymentEventProducer.sendCreditRefundEvent((CreditRefundEvent) event, entity.getTraceId());
+            };
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
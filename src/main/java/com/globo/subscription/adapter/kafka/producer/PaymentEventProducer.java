@@ -13,8 +13,6 @@ import org.springframework.stereotype.Component;
 
 import java.util.concurrent.CompletableFuture;
 
-import com.globo.subscription.adapter.kafka.util.TraceUtil;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -32,9 +30,8 @@ public class PaymentEventProducer {
     @Value("${kafka.topics.payment-credit-refund}")
     private String creditRefundTopic;
 
-    public void sendDebitSubscriptionPlanEvent(DebitSubscriptionPlanEvent event) {
+    public CompletableFuture<SendResult<String, Object>> sendDebitSubscriptionPlanEvent(DebitSubscriptionPlanEvent event, String traceId) {
         String key = event.getUserId().toString();
-        String traceId = TraceUtil.getCurrentTraceId();
 
         log.info("Sending debit subscription plan event to Kafka - userId: {}, plan: {}",
                 event.getUserId(), event.getPlan());
@@ -55,11 +52,11 @@ public class PaymentEventProducer {
                         event.getUserId(), event.getPlan(), result.getRecordMetadata().offset());
             }
         });
+        return future;
     }
 
-    public void sendDebitAmountEvent(DebitAmountEvent event) {
+    public CompletableFuture<SendResult<String, Object>> sendDebitAmountEvent(DebitAmountEvent event, String traceId) {
         String key = event.getUserId().toString();
-        String traceId = TraceUtil.getCurrentTraceId();
 
         log.info("Sending debit amount event to Kafka - userId: {}, amount: {}",
                 event.getUserId(), event.getAmount());
@@ -81,11 +78,11 @@ public class PaymentEventProducer {
                         event.getUserId(), event.getAmount(), result.getRecordMetadata().offset());
             }
         });
+        return future;
     }
 
-    public void sendCreditRefundEvent(CreditRefundEvent event) {
+    public CompletableFuture<SendResult<String, Object>> sendCreditRefundEvent(CreditRefundEvent event, String traceId) {
         String key = event.getUserId().toString();
-        String traceId = TraceUtil.getCurrentTraceId();
 
         log.info("Sending credit refund event to Kafka - userId: {}, amount: {}",
                 event.getUserId(), event.getAmount());
@@ -107,5 +104,6 @@ public class PaymentEventProducer {
                         event.getUserId(), event.getAmount(), result.getRecordMetadata().offset());
             }
         });
+        return future;
     }
 }
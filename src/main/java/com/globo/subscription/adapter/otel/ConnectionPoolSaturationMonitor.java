@@ -0,0 +1,72 @@
+package com.globo.subscription.adapter.otel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Watches every connection pool for exhaustion: threads are waiting for a connection, or the share
+ * of connections in use reached {@code saturation-threshold}. Each pool gets a
+ * {@code hikaricp.connections.usage} gauge with that share, and every check that finds it saturated
+ * increments {@code hikaricp.connections.saturated} and logs a warning. Both are exported over OTLP
+ * with the pool's own {@code hikaricp.connections.pending}; the alert fires on
+ * {@code increase(hikaricp_connections_saturated_total[5m]) > 0}, or on
+ * {@code hikaricp_connections_pending > 0} held for a minute.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConnectionPoolSaturationMonitor {
+
+    @Value("${datasource.pool.saturation-threshold:0.9}")
+    private double saturationThreshold;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> saturationCounters = new ConcurrentHashMap<>();
+
+    @Scheduled(fixedDelayString = "${datasource.pool.saturation-check-ms:10000}")
+    public void checkSaturation() {
+        for (Gauge active : meterRegistry.find("hikaricp.connections.active").gauges()) {
+            String pool = active.getId().getTag("pool");
+            Counter saturated = saturationCounters.computeIfAbsent(pool, this::registerMeters);
+            double max = gauge("hikaricp.connections.max", pool);
+            double pending = gauge("hikaricp.connections.pending", pool);
+            double usage = max > 0 ? active.value() / max : 0;
+
+            if (pending > 0 || usage >= saturationThreshold) {
+                saturated.increment();
+                log.warn("Connection pool {} saturated - active: {}/{}, threads waiting: {}",
+                        pool, (long) active.value(), (long) max, (long) pending);
+            }
+        }
+    }
+
+    private Counter registerMeters(String pool) {
+        Gauge.builder("hikaricp.connections.usage", () -> usage(pool))
+                .description("Share of the pool's connections in use")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        return Counter.builder("hikaricp.connections.saturated")
+                .description("Saturation checks that found the pool exhausted or above the threshold")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    private double usage(String pool) {
+        double max = gauge("hikaricp.connections.max", pool);
+        return max > 0 ? gauge("hikaricp.connections.active", pool) / max : 0;
+    }
+
+    private double gauge(String name, String pool) {
+        Gauge gauge = meterRegistry.find(name).tag("pool", pool).gauge();
+        return gauge != null ? gauge.value() : 0;
+    }
+}
@@ -4,6 +4,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
 
+/**
+ * Copies the tracing context to the thread running a task. Spring Boot applies this decorator to the
+ * executors it auto-configures, on platform or virtual threads alike, and the renewal executor applies
+ * it explicitly.
+ */
 @Configuration(proxyBeanMethods = false)
 public class ContextPropagationConfiguration {
 
@@ -0,0 +1,79 @@
+package com.globo.subscription.application.config;
+
+import com.globo.subscription.adapter.datasource.database.routing.ReplicaRoutingDataSource;
+import com.globo.subscription.adapter.datasource.database.routing.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Builds the connection pools for the primary database: one for regular traffic, sized under
+ * {@code spring.datasource.hikari}, and one for the renewal job under {@code datasource.renewal.hikari}.
+ * Every pool reports its Hikari metrics, tagged with the pool name.
+ * <p>
+ * The application {@link DataSource} is a lazy proxy, which takes a physical connection only at
+ * the first statement. By then the transaction is marked read-only or not, so read-only
+ * transactions can go to the replicas when {@link ReadReplicaDataSourceConfig} is enabled.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(MeterRegistry meterRegistry) {
+        return pool("primary", url, username, password, meterRegistry);
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.renewal.hikari")
+    public HikariDataSource renewalDataSource(MeterRegistry meterRegistry) {
+        return pool("renewal", url, username, password, meterRegistry);
+    }
+
+    @Bean
+    public WorkloadRoutingDataSource writeDataSource(HikariDataSource primaryDataSource, HikariDataSource renewalDataSource) {
+        return new WorkloadRoutingDataSource(primaryDataSource, renewalDataSource);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadRoutingDataSource writeDataSource,
+                                 ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(writeDataSource);
+        replicaRoutingDataSource.ifAvailable(dataSource::setReadOnlyDataSource);
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, String password, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        configure(dataSource, name, url, username, password, meterRegistry);
+        return dataSource;
+    }
+
+    static void configure(HikariDataSource dataSource, String name, String url, String username, String password,
+                          MeterRegistry meterRegistry) {
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+    }
+}
@@ -0,0 +1,47 @@
+package com.globo.subscription.application.config;
+
+import com.globo.subscription.core.exception.ActiveSubscriptionAlreadyExistsException;
+import com.globo.subscription.core.exception.BusinessException;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+/**
+ * Error handling of the payment result listener, picked up by the auto-configured container factory.
+ * A batch that fails without pointing at a record, typically because the database is unavailable,
+ * is redelivered as a whole with an exponential backoff and no retry limit, and its offsets are not
+ * committed meanwhile. A record the listener reports as impossible to apply, through a
+ * {@link org.springframework.kafka.listener.BatchListenerFailedException} caused by a
+ * {@link BusinessException} or a conflict with the active subscription of the user, is published to
+ * the dead letter topic at once and the rest of the batch goes on.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Value("${kafka.topics.payment-result-dlt}")
+    private String paymentResultDeadLetterTopic;
+
+    @Value("${kafka.consumers.payment-result.retry-backoff-ms:1000}")
+    private long retryBackoffMillis;
+
+    @Value("${kafka.consumers.payment-result.max-retry-backoff-ms:60000}")
+    private long maxRetryBackoffMillis;
+
+    @Bean
+    public CommonErrorHandler paymentResultErrorHandler(KafkaOperations<String, Object> kafkaTemplate) {
+        // No partition: the dead letter topic does not have to mirror the wallet's partitioning
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> new TopicPartition(paymentResultDeadLetterTopic, -1));
+        ExponentialBackOff backOff = new ExponentialBackOff(retryBackoffMillis, 2.0);
+        backOff.setMaxInterval(maxRetryBackoffMillis);
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, backOff);
+        errorHandler.addNotRetryableExceptions(BusinessException.class, ActiveSubscriptionAlreadyExistsException.class);
+        return errorHandler;
+    }
+}
@@ -18,6 +18,9 @@ public class KafkaTopicConfig {
     @Value("${kafka.topics.payment-credit-refund}")
     private String creditRefundTopic;
 
+    @Value("${kafka.topics.payment-result-dlt}")
+    private String paymentResultDeadLetterTopic;
+
     @Bean
     public NewTopic paymentDebitSubscriptionPlanTopic() {
         return TopicBuilder.name(debitSubscriptionPlanTopic)
@@ -41,4 +44,12 @@ public class KafkaTopicConfig {
                 .replicas(1)
                 .build();
     }
+
+    @Bean
+    public NewTopic paymentResultDeadLetterTopic() {
+        return TopicBuilder.name(paymentResultDeadLetterTopic)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
 }
@@ -0,0 +1,72 @@
+package com.globo.subscription.application.config;
+
+import com.globo.subscription.adapter.datasource.database.routing.ReplicaRoutingDataSource;
+import com.globo.subscription.adapter.datasource.database.routing.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adds one pool per read replica, all sized under {@code datasource.replica.hikari}, and hands them to
+ * {@link DataSourceConfig} as the target for read-only transactions. Replicas lagging behind fall back
+ * to the primary pools.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Value("${datasource.replica.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${datasource.replica.max-lag-ms:1000}")
+    private long maxLagMillis;
+
+    private final ObjectProvider<ReplicaRoutingDataSource> routingDataSource;
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariConfig replicaPoolConfig() {
+        return new HikariConfig();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(WorkloadRoutingDataSource writeDataSource,
+                                                             HikariConfig replicaPoolConfig,
+                                                             MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariDataSource replica = new HikariDataSource();
+            replicaPoolConfig.copyStateTo(replica);
+            DataSourceConfig.configure(replica, name, replicaUrls.get(i), replicaUsername, replicaPassword, meterRegistry);
+            replica.setReadOnly(true);
+            replicas.put(name, replica);
+        }
+        return new ReplicaRoutingDataSource(writeDataSource, replicas, maxLagMillis);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-ms:5000}")
+    public void checkReplicaLag() {
+        routingDataSource.getObject().refreshReplicaHealth();
+    }
+}
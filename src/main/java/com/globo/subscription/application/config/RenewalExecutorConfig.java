@@ -0,0 +1,48 @@
+package com.globo.subscription.application.config;
+
+import com.globo.subscription.adapter.datasource.database.routing.WorkloadRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class RenewalExecutorConfig {
+
+    @Value("${renewal.parallelism:4}")
+    private int parallelism;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${renewal.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMillis;
+
+    @Bean
+    public AsyncTaskExecutor renewalTaskExecutor(TaskDecorator taskDecorator) {
+        int poolSize = Math.max(1, parallelism);
+        // Renewal partitions run their transactions on the dedicated renewal connection pool
+        TaskDecorator renewalTaskDecorator = task -> WorkloadRoutingDataSource.onRenewalPool(taskDecorator.decorate(task));
+
+        if (virtualThreads) {
+            // One virtual thread per partition; the limit keeps the renewal pool sizing valid
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("renewal-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(poolSize);
+            executor.setTaskDecorator(renewalTaskDecorator);
+            executor.setTaskTerminationTimeout(shutdownTimeoutMillis);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("renewal-");
+        executor.setTaskDecorator(renewalTaskDecorator);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
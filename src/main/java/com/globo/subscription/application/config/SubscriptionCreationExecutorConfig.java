@@ -0,0 +1,79 @@
+package com.globo.subscription.application.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors for subscription creation. The lookups a creation fans out and the creations accepted
+ * asynchronously get separate executors, so a creation never waits on lookups queued behind other
+ * creations. Saturated lookups run on the caller, which is already waiting for them; saturated
+ * creations are rejected, since running one on the caller would hold the request the asynchronous
+ * endpoint promised to release.
+ */
+@Configuration
+public class SubscriptionCreationExecutorConfig {
+
+    @Value("${subscription.creation.lookup-parallelism:16}")
+    private int lookupParallelism;
+
+    @Value("${subscription.creation.parallelism:8}")
+    private int parallelism;
+
+    @Value("${subscription.creation.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean
+    public AsyncTaskExecutor subscriptionLookupTaskExecutor(TaskDecorator taskDecorator) {
+        if (virtualThreads) {
+            return virtualThreadExecutor("subscription-lookup-", taskDecorator);
+        }
+        // No queue: with every thread busy the request thread runs the lookup itself
+        return threadPoolExecutor("subscription-lookup-", lookupParallelism, 0,
+                new ThreadPoolExecutor.CallerRunsPolicy(), taskDecorator);
+    }
+
+    @Bean
+    public AsyncTaskExecutor subscriptionCreationTaskExecutor(TaskDecorator taskDecorator) {
+        if (virtualThreads) {
+            // Virtual threads are cheap, but each creation holds a database connection and wallet calls
+            SimpleAsyncTaskExecutor executor = virtualThreadExecutor("subscription-creation-", taskDecorator);
+            executor.setConcurrencyLimit(Math.max(1, parallelism));
+            executor.setRejectTasksWhenLimitReached(true);
+            return executor;
+        }
+        return threadPoolExecutor("subscription-creation-", parallelism, queueCapacity,
+                new ThreadPoolExecutor.AbortPolicy(), taskDecorator);
+    }
+
+    private static SimpleAsyncTaskExecutor virtualThreadExecutor(String prefix, TaskDecorator taskDecorator) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefix);
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(taskDecorator);
+        return executor;
+    }
+
+    private static AsyncTaskExecutor threadPoolExecutor(String prefix, int poolSize, int queueCapacity,
+                                                        RejectedExecutionHandler rejectedExecutionHandler,
+                                                        TaskDecorator taskDecorator) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, poolSize));
+        executor.setMaxPoolSize(Math.max(1, poolSize));
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(prefix);
+        executor.setTaskDecorator(taskDecorator);
+        executor.setRejectedExecutionHandler(rejectedExecutionHandler);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
@@ -0,0 +1,67 @@
+package com.globo.subscription.application.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Protects the request threads from a slow or failing wallet service. The bulkhead caps the calls
+ * in flight and rejects the excess immediately; the circuit breaker opens when too many calls fail
+ * or run slow, and while open every call fails fast without reaching the wallet service.
+ * Connection pooling and the connect/read timeouts are set on the Feign client itself.
+ */
+@Configuration
+public class WalletClientConfig {
+
+    static final String WALLET = "wallet";
+
+    @Value("${integrations.wallet.bulkhead.max-concurrent-calls:50}")
+    private int maxConcurrentCalls;
+
+    @Value("${integrations.wallet.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${integrations.wallet.circuit-breaker.slow-call-duration-ms:1000}")
+    private long slowCallDurationMillis;
+
+    @Value("${integrations.wallet.circuit-breaker.slow-call-rate-threshold:50}")
+    private float slowCallRateThreshold;
+
+    @Value("${integrations.wallet.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${integrations.wallet.circuit-breaker.minimum-number-of-calls:10}")
+    private int minimumNumberOfCalls;
+
+    @Value("${integrations.wallet.circuit-breaker.open-state-duration-ms:10000}")
+    private long openStateDurationMillis;
+
+    @Bean
+    public Bulkhead walletBulkhead() {
+        return Bulkhead.of(WALLET, BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+
+    @Bean
+    public CircuitBreaker walletCircuitBreaker() {
+        return CircuitBreaker.of(WALLET, CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMillis))
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .waitDurationInOpenState(Duration.ofMillis(openStateDurationMillis))
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build());
+    }
+}
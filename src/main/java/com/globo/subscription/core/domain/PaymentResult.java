@@ -0,0 +1,8 @@
+package com.globo.subscription.core.domain;
+
+import java.util.UUID;
+
+/**
+ * Outcome reported by the wallet service for the debit of a subscription plan.
+ */
+public record PaymentResult(UUID subscriptionId, UUID userId, boolean approved) {}
@@ -0,0 +1,17 @@
+package com.globo.subscription.core.domain;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Keyset position of the renewal scan, ordered by {@code (expirationDate, id)}.
+ */
+public record RenewalCursor(
+    LocalDate expirationDate,
+    UUID id
+) {
+
+    public static RenewalCursor after(Subscription subscription) {
+        return new RenewalCursor(subscription.getExpirationDate(), subscription.getId());
+    }
+}
@@ -13,7 +13,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class Subscription {
@@ -26,4 +26,5 @@ public class Subscription {
     private LocalDateTime updatedAt;
     private SubscriptionStatus status;
     private Integer renewalAttempts;
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.globo.subscription.core.domain;
+
+import com.globo.subscription.core.domain.enums.SubscriptionRequestStatus;
+
+import java.util.UUID;
+
+/**
+ * Tracks a subscription creation accepted for asynchronous processing. {@code subscriptionId} is set
+ * once it completes and {@code error} once it fails.
+ */
+public record SubscriptionCreationRequest(
+        UUID id,
+        UUID userId,
+        SubscriptionRequestStatus status,
+        UUID subscriptionId,
+        String error
+) {
+
+    public static SubscriptionCreationRequest processing(UUID userId) {
+        return new SubscriptionCreationRequest(UUID.randomUUID(), userId, SubscriptionRequestStatus.PROCESSING, null, null);
+    }
+
+    public SubscriptionCreationRequest completed(UUID subscriptionId) {
+        return new SubscriptionCreationRequest(id, userId, SubscriptionRequestStatus.COMPLETED, subscriptionId, null);
+    }
+
+    public SubscriptionCreationRequest failed(String error) {
+        return new SubscriptionCreationRequest(id, userId, SubscriptionRequestStatus.FAILED, null, error);
+    }
+}
@@ -0,0 +1,20 @@
+package com.globo.subscription.core.domain;
+
+import java.time.LocalDate;
+
+import com.globo.subscription.core.domain.enums.SubscriptionStatus;
+import com.globo.subscription.core.domain.enums.TypePlan;
+
+/**
+ * The part of a subscription needed to decide what a user may watch.
+ */
+public record SubscriptionEntitlement(
+    TypePlan plan,
+    SubscriptionStatus status,
+    LocalDate expirationDate
+) {
+
+    public static SubscriptionEntitlement from(Subscription subscription) {
+        return new SubscriptionEntitlement(subscription.getPlan(), subscription.getStatus(), subscription.getExpirationDate());
+    }
+}
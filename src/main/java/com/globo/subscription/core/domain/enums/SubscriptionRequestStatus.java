@@ -0,0 +1,7 @@
+package com.globo.subscription.core.domain.enums;
+
+public enum SubscriptionRequestStatus {
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,12 @@
+package com.globo.subscription.core.exception;
+
+public class SubscriptionCreationUnavailableException extends BusinessException {
+
+    public SubscriptionCreationUnavailableException(String message) {
+        super(message);
+    }
+
+    public SubscriptionCreationUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.globo.subscription.core.exception;
+
+public class WalletUnavailableException extends BusinessException {
+
+    public WalletUnavailableException(String message) {
+        super(message);
+    }
+
+    public WalletUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package com.globo.subscription.core.port.in.subscription;
+
+import java.util.List;
+
+import com.globo.subscription.core.domain.PaymentResult;
+
+public interface ApplyPaymentResultsPort {
+    void execute(List<PaymentResult> results);
+}
@@ -0,0 +1,8 @@
+package com.globo.subscription.core.port.in.subscription;
+
+import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.SubscriptionCreationRequest;
+
+public interface CreateSubscriptionAsyncPort {
+    SubscriptionCreationRequest execute(Subscription subscription);
+}
@@ -0,0 +1,9 @@
+package com.globo.subscription.core.port.in.subscription;
+
+import com.globo.subscription.core.domain.SubscriptionCreationRequest;
+
+import java.util.UUID;
+
+public interface GetSubscriptionCreationRequestPort {
+    SubscriptionCreationRequest execute(UUID requestId);
+}
@@ -1,11 +1,21 @@
 package com.globo.subscription.core.port.out.subscription;
 
 import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.SubscriptionEntitlement;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ActiveSubscriptionCachePort {
     void putActiveSubscription(UUID userId, Subscription subscription, long ttlSeconds);
+
+    /**
+     * Writes the subscriptions of several users in one round trip, each keyed by its user.
+     */
+    void putActiveSubscriptions(Collection<Subscription> subscriptions, long ttlSeconds);
     Optional<Subscription> getActiveSubscription(UUID userId);
-    void removeActiveSubscription(UUID userId);
+    Optional<SubscriptionEntitlement> getEntitlement(UUID userId);
+    Map<UUID, Subscription> getActiveSubscriptions(Collection<UUID> userIds);
+    void removeActiveSubscription(Subscription subscription);
 }
@@ -0,0 +1,11 @@
+package com.globo.subscription.core.port.out.subscription;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import com.globo.subscription.core.domain.SubscriptionCreationRequest;
+
+public interface SubscriptionCreationRequestPort {
+    void save(SubscriptionCreationRequest request, long ttlSeconds);
+    Optional<SubscriptionCreationRequest> findById(UUID requestId);
+}
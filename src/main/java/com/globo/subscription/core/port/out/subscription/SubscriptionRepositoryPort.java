@@ -1,16 +1,50 @@
 package com.globo.subscription.core.port.out.subscription;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import com.globo.subscription.core.domain.RenewalCursor;
 import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.enums.SubscriptionStatus;
 
 public interface SubscriptionRepositoryPort {
     Subscription save(Subscription subscription);
+
+    /**
+     * Saves all subscriptions in one flush, sent to the database as JDBC batches.
+     */
+    List<Subscription> saveAll(List<Subscription> subscriptions);
     Optional<Subscription> findActiveByUserId(UUID userId);
+    List<Subscription> findActiveByUserIds(Collection<UUID> userIds);
     Optional<Subscription> findById(UUID id);
+
+    /**
+     * Moves a subscription to {@code status} in a single round trip.
+     * Empty when the subscription does not exist or is already in that status.
+     */
+    Optional<Subscription> transitionStatus(UUID id, SubscriptionStatus status);
+
+    /**
+     * Moves the subscriptions among {@code ids} that are still {@code PENDING} to {@code status} in a
+     * single statement and returns the ones that moved.
+     */
+    List<Subscription> transitionPendingStatus(Collection<UUID> ids, SubscriptionStatus status);
+    long countActive();
+
+    /**
+     * Returns the next page of active subscriptions ordered by id, starting after {@code afterId}
+     * ({@code null} for the first page).
+     */
+    List<Subscription> findActivePage(UUID afterId, int pageSize);
     Optional<Subscription> findLatestByUserId(UUID userId);
-    List<Subscription> findSubscriptionsToRenew(LocalDate currentDate, int batchSize);
+
+    /**
+     * Claims the next page of subscriptions due for renewal, ordered by {@code (expirationDate, id)}.
+     * Claimed rows are leased to this instance and are not returned to other instances until the lease expires.
+     * Pass {@code null} as {@code after} for the first page and the cursor of the last returned row afterwards.
+     */
+    List<Subscription> claimSubscriptionsToRenew(LocalDate currentDate, RenewalCursor after, int batchSize);
 }
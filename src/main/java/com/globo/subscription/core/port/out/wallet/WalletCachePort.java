@@ -0,0 +1,7 @@
+package com.globo.subscription.core.port.out.wallet;
+
+import java.util.UUID;
+
+public interface WalletCachePort {
+    void evictWallet(UUID userId);
+}
@@ -0,0 +1,97 @@
+package com.globo.subscription.core.usecase.subscription;
+
+import com.globo.subscription.core.domain.PaymentResult;
+import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.enums.SubscriptionStatus;
+import com.globo.subscription.core.port.in.subscription.ApplyPaymentResultsPort;
+import com.globo.subscription.core.port.out.subscription.ActiveSubscriptionCachePort;
+import com.globo.subscription.core.port.out.subscription.SubscriptionRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Moves pending subscriptions to {@code ACTIVE} or {@code PAYMENT_FAILED} from a batch of payment
+ * results, with one update per target status and one cache write for all activated subscriptions.
+ * Subscriptions whose payment failed are removed from the cache instead.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ApplyPaymentResultsUseCase implements ApplyPaymentResultsPort {
+
+    @Value("${redis.cache.active-subscription-ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    private final SubscriptionRepositoryPort subscriptionRepositoryPort;
+    private final ActiveSubscriptionCachePort activeSubscriptionCachePort;
+    private final TransactionOperations transactionOperations;
+
+    @Override
+    public void execute(List<PaymentResult> results) {
+        // Results come in order for each user, so the last one for a subscription is its outcome
+        Map<UUID, SubscriptionStatus> outcomes = new LinkedHashMap<>();
+        for (PaymentResult result : results) {
+            outcomes.put(result.subscriptionId(), result.approved() ? SubscriptionStatus.ACTIVE : SubscriptionStatus.PAYMENT_FAILED);
+        }
+
+        Map<SubscriptionStatus, List<UUID>> idsByStatus = new EnumMap<>(SubscriptionStatus.class);
+        outcomes.forEach((id, status) -> idsByStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(id));
+
+        List<Subscription> transitioned = transactionOperations.execute(tx -> {
+            List<Subscription> moved = new ArrayList<>();
+            idsByStatus.forEach((status, ids) -> moved.addAll(subscriptionRepositoryPort.transitionPendingStatus(ids, status)));
+            return moved;
+        });
+
+        int updated = transitioned != null ? transitioned.size() : 0;
+        if (updated > 0) {
+            refreshCache(transitioned);
+        }
+        log.info("Aplicados {} resultados de pagamento: {} assinaturas atualizadas, {} já resolvidas ou inexistentes",
+                results.size(), updated, outcomes.size() - updated);
+    }
+
+    /**
+     * Runs after the commit, so a cache failure must not fail the batch: a redelivery would find the
+     * subscriptions already resolved and never refresh their entries. A failed batch write is retried
+     * one subscription at a time; an entry that still cannot be written keeps its old value until it
+     * expires.
+     */
+    private void refreshCache(List<Subscription> transitioned) {
+        List<Subscription> activated = transitioned.stream()
+                .filter(subscription -> subscription.getStatus() == SubscriptionStatus.ACTIVE)
+                .toList();
+        if (!activated.isEmpty()) {
+            try {
+                activeSubscriptionCachePort.putActiveSubscriptions(activated, ttlSeconds);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao gravar {} assinaturas ativadas no cache em lote; gravando uma a uma", activated.size(), e);
+                activated.forEach(subscription -> updateCacheQuietly(subscription, () ->
+                        activeSubscriptionCachePort.putActiveSubscription(subscription.getUser().getId(), subscription, ttlSeconds)));
+            }
+        }
+        transitioned.stream()
+                .filter(subscription -> subscription.getStatus() != SubscriptionStatus.ACTIVE)
+                .forEach(subscription -> updateCacheQuietly(subscription, () ->
+                        activeSubscriptionCachePort.removeActiveSubscription(subscription)));
+    }
+
+    private void updateCacheQuietly(Subscription subscription, Runnable cacheUpdate) {
+        try {
+            cacheUpdate.run();
+        } catch (RuntimeException e) {
+            log.error("Não foi possível atualizar o cache da assinatura {} do usuário {}; a entrada atual permanece até expirar",
+                    subscription.getId(), subscription.getUser().getId(), e);
+        }
+    }
+}
@@ -24,16 +24,12 @@ public class CancelSubscriptionUseCase implements CancelSubscriptionPort {
 
     @Override
     public void execute(UUID subscriptionId) {
-        Subscription subscription = subscriptionRepositoryPort.findById(subscriptionId)
-                .orElseThrow(() -> new SubscriptionNotFoundException("Assinatura não encontrada com id: " + subscriptionId));
+        Subscription subscription = subscriptionRepositoryPort.transitionStatus(subscriptionId, SubscriptionStatus.CANCELED)
+                .orElseThrow(() -> subscriptionRepositoryPort.findById(subscriptionId).isPresent()
+                        ? new SubscriptionAlreadyCanceledException("Assinatura " + subscriptionId + " já foi cancelada.")
+                        : new SubscriptionNotFoundException("Assinatura não encontrada com id: " + subscriptionId));
 
-        if (SubscriptionStatus.CANCELED.equals(subscription.getStatus())) {
-            throw new SubscriptionAlreadyCanceledException("Assinatura " + subscriptionId + " já foi cancelada.");
-        }
-
-        subscription.setStatus(SubscriptionStatus.CANCELED);
-        subscription = subscriptionRepositoryPort.save(subscription);
-        activeSubscriptionCachePort.removeActiveSubscription(subscription.getUser().getId());
+        activeSubscriptionCachePort.removeActiveSubscription(subscription);
         log.info("Assinatura id: {} do cliente: {} foi cancelada com sucesso.", subscriptionId, subscription.getUser().getId());
     }
 }
@@ -0,0 +1,71 @@
+package com.globo.subscription.core.usecase.subscription;
+
+import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.SubscriptionCreationRequest;
+import com.globo.subscription.core.exception.BusinessException;
+import com.globo.subscription.core.exception.SubscriptionCreationUnavailableException;
+import com.globo.subscription.core.port.in.subscription.CreateSubscriptionAsyncPort;
+import com.globo.subscription.core.port.in.subscription.CreateSubscriptionPort;
+import com.globo.subscription.core.port.out.subscription.SubscriptionCreationRequestPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Accepts a subscription creation and runs it in the background, recording its progress so the
+ * caller can poll for the outcome instead of holding the request open. When the creation executor
+ * is saturated the request is refused with a {@link SubscriptionCreationUnavailableException}
+ * rather than run on the caller's thread.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CreateSubscriptionAsyncUseCase implements CreateSubscriptionAsyncPort {
+
+    static final String UNAVAILABLE_MESSAGE = "Criação de assinaturas temporariamente indisponível. Tente novamente em instantes.";
+    static final String UNEXPECTED_FAILURE_MESSAGE = "Não foi possível criar a assinatura. Tente novamente mais tarde.";
+
+    @Value("${subscription.creation.request-ttl-seconds:86400}")
+    private long requestTtlSeconds;
+
+    private final CreateSubscriptionPort createSubscriptionPort;
+    private final SubscriptionCreationRequestPort subscriptionCreationRequestPort;
+    private final TaskExecutor subscriptionCreationTaskExecutor;
+
+    @Override
+    public SubscriptionCreationRequest execute(Subscription subscription) {
+        SubscriptionCreationRequest request = SubscriptionCreationRequest.processing(subscription.getUser().getId());
+        subscriptionCreationRequestPort.save(request, requestTtlSeconds);
+        log.info("Subscription creation request {} accepted for user {} - plan: {}",
+                request.id(), request.userId(), subscription.getPlan());
+
+        try {
+            subscriptionCreationTaskExecutor.execute(() -> process(request, subscription));
+        } catch (TaskRejectedException e) {
+            log.warn("Subscription creation request {} for user {} rejected: creation executor saturated",
+                    request.id(), request.userId());
+            subscriptionCreationRequestPort.save(request.failed(UNAVAILABLE_MESSAGE), requestTtlSeconds);
+            throw new SubscriptionCreationUnavailableException(UNAVAILABLE_MESSAGE, e);
+        }
+        return request;
+    }
+
+    private void process(SubscriptionCreationRequest request, Subscription subscription) {
+        SubscriptionCreationRequest outcome;
+        try {
+            Subscription created = createSubscriptionPort.execute(subscription);
+            outcome = request.completed(created.getId());
+        } catch (BusinessException e) {
+            log.warn("Subscription creation request {} for user {} failed: {}", request.id(), request.userId(), e.getMessage());
+            outcome = request.failed(e.getMessage());
+        } catch (Exception e) {
+            // Not meant for the client: only business failures are worded for it
+            log.error("Subscription creation request {} for user {} failed unexpectedly", request.id(), request.userId(), e);
+            outcome = request.failed(UNEXPECTED_FAILURE_MESSAGE);
+        }
+        subscriptionCreationRequestPort.save(outcome, requestTtlSeconds);
+    }
+}
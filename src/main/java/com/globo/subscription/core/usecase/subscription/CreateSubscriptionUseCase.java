@@ -4,6 +4,7 @@ import com.globo.subscription.core.domain.Subscription;
 import com.globo.subscription.core.domain.User;
 import com.globo.subscription.core.domain.enums.SubscriptionStatus;
 import com.globo.subscription.core.exception.ActiveSubscriptionAlreadyExistsException;
+import com.globo.subscription.core.exception.SubscriptionNotFoundException;
 import com.globo.subscription.core.exception.UserNotFoundException;
 import com.globo.subscription.core.exception.WalletNotFoundException;
 import com.globo.subscription.core.port.in.subscription.CreateSubscriptionPort;
@@ -16,11 +17,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.support.TransactionOperations;
 import com.globo.subscription.core.usecase.subscription.strategy.PlanChangeStrategyResolver;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @Service
@@ -36,29 +42,45 @@ public class CreateSubscriptionUseCase implements CreateSubscriptionPort {
     private final ActiveSubscriptionCachePort activeSubscriptionCachePort;
     private final WalletPort walletPort;
     private final PlanChangeStrategyResolver planChangeStrategyResolver;
+    private final TaskExecutor subscriptionLookupTaskExecutor;
+    private final TransactionOperations transactionOperations;
+    private final SubscriptionUpdateRetry subscriptionUpdateRetry;
 
     @Override
     public Subscription execute(Subscription subscription) {
-        User user = userRepositoryPort.findById(subscription.getUser().getId())
-                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com id: " + subscription.getUser().getId()));
+        UUID userId = subscription.getUser().getId();
 
-        if (!walletPort.existsWallet(user.getId())) {
+        // The lookups do not depend on each other, so they run concurrently and cost the slowest of
+        // them instead of their sum. No active-subscription pre-check: a second live subscription is
+        // rejected by a unique index when it is saved, and surfaces as ActiveSubscriptionAlreadyExistsException.
+        CompletableFuture<Optional<User>> userLookup = CompletableFuture.supplyAsync(
+                () -> userRepositoryPort.findById(userId), subscriptionLookupTaskExecutor);
+        CompletableFuture<Boolean> walletLookup = CompletableFuture.supplyAsync(
+                () -> walletPort.existsWallet(userId), subscriptionLookupTaskExecutor);
+        CompletableFuture<Optional<Subscription>> latestLookup = CompletableFuture.supplyAsync(
+                () -> subscriptionRepositoryPort.findLatestByUserId(userId), subscriptionLookupTaskExecutor);
+
+        User user = join(userLookup)
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com id: " + userId));
+
+        if (!join(walletLookup)) {
             log.error("Carteira não encontrada para usuário {}", user.getId());
             throw new WalletNotFoundException("Usuário " + user.getId() + " não possui carteira cadastrada.");
         }
 
-        if (subscriptionRepositoryPort.findActiveByUserId(user.getId()).isPresent()) {
-            log.error("User {} already has an active subscription", user.getId());
-            throw new ActiveSubscriptionAlreadyExistsException("Usuário " + user.getId() + " já possui uma assinatura ativa.");
-        }
-
-        Optional<Subscription> latestSubscription = subscriptionRepositoryPort.findLatestByUserId(user.getId());
+        Optional<Subscription> latestSubscription = join(latestLookup);
 
         if (latestSubscription.isPresent() &&
             SubscriptionStatus.CANCELED.equals(latestSubscription.get().getStatus())) {
-            Subscription created = planChangeStrategyResolver
-                .resolve(latestSubscription.get(), subscription.getPlan())
-                .apply(latestSubscription.get(), subscription.getPlan(), user);
+            Subscription canceled = latestSubscription.get();
+            // The strategies change the subscription they are given, so an attempt that lost to a
+            // concurrent update starts over from a fresh read instead of the copy it modified.
+            Subscription created = subscriptionUpdateRetry.execute(canceled.getId(), attempt -> {
+                Subscription current = attempt == 1 ? canceled : reloadCanceled(canceled.getId(), user.getId());
+                return transactionOperations.execute(status -> planChangeStrategyResolver
+                    .resolve(current, subscription.getPlan())
+                    .apply(current, subscription.getPlan(), user));
+            });
             activeSubscriptionCachePort.putActiveSubscription(user.getId(), created, ttlSeconds);
             return created;
         }
@@ -71,9 +93,33 @@ public class CreateSubscriptionUseCase implements CreateSubscriptionPort {
         subscription.setRenewalAttempts(0);
 
         log.info("New subscription created for user {} - plan: {}", user.getId(), subscription.getPlan());
-        Subscription created = subscriptionRepositoryPort.save(subscription);
-        paymentPort.debitSubscriptionPlan(user.getId(), subscription.getPlan(), created.getId());
+        Subscription created = transactionOperations.execute(status -> {
+            Subscription saved = subscriptionRepositoryPort.save(subscription);
+            paymentPort.debitSubscriptionPlan(user.getId(), subscription.getPlan(), saved.getId());
+            return saved;
+        });
         activeSubscriptionCachePort.putActiveSubscription(user.getId(), created, ttlSeconds);
         return created;
     }
+
+    private Subscription reloadCanceled(UUID subscriptionId, UUID userId) {
+        Subscription current = subscriptionRepositoryPort.findById(subscriptionId)
+                .orElseThrow(() -> new SubscriptionNotFoundException("Assinatura não encontrada com id: " + subscriptionId));
+        if (!SubscriptionStatus.CANCELED.equals(current.getStatus())) {
+            // A concurrent request already brought it back
+            throw new ActiveSubscriptionAlreadyExistsException("Usuário " + userId + " já possui uma assinatura ativa ou pendente.");
+        }
+        return current;
+    }
+
+    private static <T> T join(CompletableFuture<T> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package com.globo.subscription.core.usecase.subscription;
+
+import com.globo.subscription.core.domain.SubscriptionCreationRequest;
+import com.globo.subscription.core.exception.SubscriptionNotFoundException;
+import com.globo.subscription.core.port.in.subscription.GetSubscriptionCreationRequestPort;
+import com.globo.subscription.core.port.out.subscription.SubscriptionCreationRequestPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class GetSubscriptionCreationRequestUseCase implements GetSubscriptionCreationRequestPort {
+
+    private final SubscriptionCreationRequestPort subscriptionCreationRequestPort;
+
+    @Override
+    public SubscriptionCreationRequest execute(UUID requestId) {
+        return subscriptionCreationRequestPort.findById(requestId)
+                .orElseThrow(() -> new SubscriptionNotFoundException("Solicitação de assinatura não encontrada com id: " + requestId));
+    }
+}
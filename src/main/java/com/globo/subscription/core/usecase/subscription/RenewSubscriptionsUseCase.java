@@ -1,52 +1,179 @@
 package com.globo.subscription.core.usecase.subscription;
 
+import com.globo.subscription.core.domain.RenewalCursor;
 import com.globo.subscription.core.domain.Subscription;
 import com.globo.subscription.core.domain.enums.SubscriptionStatus;
 import com.globo.subscription.core.port.in.subscription.RenewSubscriptionsPort;
 import com.globo.subscription.core.port.out.subscription.SubscriptionRepositoryPort;
 import com.globo.subscription.core.port.out.payment.PaymentPort;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class RenewSubscriptionsUseCase implements RenewSubscriptionsPort {
 
     private static final int BATCH_SIZE = 100;
     private static final int MAX_RENEWAL_ATTEMPTS = 3;
 
+    @Value("${renewal.parallelism:4}")
+    private int parallelism;
+
     private final SubscriptionRepositoryPort subscriptionRepositoryPort;
     private final PaymentPort paymentPort;
+    private final TaskExecutor renewalTaskExecutor;
+    private final TransactionOperations transactionOperations;
+    private final SubscriptionUpdateRetry subscriptionUpdateRetry;
 
     @Override
     public List<Subscription> execute() {
 
         LocalDate currentDate = LocalDate.now();
-        List<Subscription> subscriptionsToRenew = subscriptionRepositoryPort.findSubscriptionsToRenew(currentDate, BATCH_SIZE);
+        List<Subscription> renewedSubscriptions = new ArrayList<>();
+        int processedCount = 0;
+        int failureCount = 0;
+        int suspendedCount = 0;
+        int pageCount = 0;
+
+        RenewalCursor cursor = null;
+        List<Subscription> page;
+        do {
+            page = subscriptionRepositoryPort.claimSubscriptionsToRenew(currentDate, cursor, BATCH_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            // Taken before renewing, since a renewal moves the expiration date forward.
+            cursor = RenewalCursor.after(page.get(page.size() - 1));
+            pageCount++;
+
+            log.info("Claimed {} subscriptions to renew in page {}", page.size(), pageCount);
+
+            PartitionResult result = renewPage(page);
+            renewedSubscriptions.addAll(result.renewed());
+            processedCount += page.size();
+            failureCount += result.failures();
+            suspendedCount += result.suspended();
+        } while (page.size() == BATCH_SIZE);
+
+        log.info("Renewal process completed - Processed: {}, Success: {}, Failures: {}, Suspended: {}, Pages: {}",
+                processedCount, renewedSubscriptions.size(), failureCount, suspendedCount, pageCount);
+
+        return renewedSubscriptions;
+    }
+
+    private PartitionResult renewPage(List<Subscription> page) {
+        List<List<Subscription>> partitions = partitionByUser(page);
+        List<CompletableFuture<PartitionResult>> futures = new ArrayList<>();
+
+        for (int partition = 0; partition < partitions.size(); partition++) {
+            List<Subscription> subscriptions = partitions.get(partition);
+            if (subscriptions.isEmpty()) {
+                continue;
+            }
+            int partitionId = partition;
+            futures.add(CompletableFuture.supplyAsync(() -> renewPartition(partitionId, subscriptions), renewalTaskExecutor));
+        }
+
+        List<Subscription> renewedSubscriptions = new ArrayList<>();
+        int failureCount = 0;
+        int suspendedCount = 0;
+
+        for (CompletableFuture<PartitionResult> future : futures) {
+            PartitionResult result = future.join();
+            renewedSubscriptions.addAll(result.renewed());
+            failureCount += result.failures();
+            suspendedCount += result.suspended();
+        }
+
+        return new PartitionResult(renewedSubscriptions, failureCount, suspendedCount);
+    }
+
+    /**
+     * Subscriptions of the same user always land in the same partition, so a user is never
+     * renewed by two workers at once and its renewals keep their original order.
+     */
+    private List<List<Subscription>> partitionByUser(List<Subscription> subscriptions) {
+        int partitionCount = Math.max(1, parallelism);
+        List<List<Subscription>> partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (Subscription subscription : subscriptions) {
+            int partition = Math.floorMod(subscription.getUser().getId().hashCode(), partitionCount);
+            partitions.get(partition).add(subscription);
+        }
+        return partitions;
+    }
 
-        log.info("Found {} subscriptions to renew", subscriptionsToRenew.size());
+    private PartitionResult renewPartition(int partition, List<Subscription> subscriptions) {
+        long startNanos = System.nanoTime();
+
+        PartitionResult result = renewBatch(subscriptions);
+        if (result == null) {
+            result = renewOneByOne(subscriptions);
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        log.info("Renewal partition {} completed - Processed: {}, Success: {}, Failures: {}, Suspended: {}, Elapsed: {} ms, Throughput: {} subscriptions/s",
+                partition, subscriptions.size(), result.renewed().size(), result.failures(), result.suspended(),
+                elapsedMillis, subscriptions.size() * 1000L / elapsedMillis);
+
+        return result;
+    }
 
+    /**
+     * Renews the whole partition in one transaction and writes it with a single batched save.
+     * If any renewal fails the transaction is rolled back, payment events included, and
+     * {@code null} is returned so the partition is retried one subscription at a time.
+     */
+    private PartitionResult renewBatch(List<Subscription> subscriptions) {
+        try {
+            List<Subscription> renewedSubscriptions = transactionOperations.execute(status -> {
+                List<Subscription> renewals = new ArrayList<>(subscriptions.size());
+                for (Subscription subscription : subscriptions) {
+                    renewals.add(applyRenewal(subscription.toBuilder().build()));
+                }
+                return subscriptionRepositoryPort.saveAll(renewals);
+            });
+            for (Subscription renewed : renewedSubscriptions) {
+                log.info("Successfully renewed subscription {} for user {}", renewed.getId(), renewed.getUser().getId());
+            }
+            return new PartitionResult(renewedSubscriptions, 0, 0);
+        } catch (Exception e) {
+            log.warn("Batch renewal of {} subscriptions failed - retrying one by one", subscriptions.size(), e);
+            return null;
+        }
+    }
+
+    private PartitionResult renewOneByOne(List<Subscription> subscriptions) {
         List<Subscription> renewedSubscriptions = new ArrayList<>();
-        int successCount = 0;
         int failureCount = 0;
         int suspendedCount = 0;
 
-        for (Subscription subscription : subscriptionsToRenew) {
+        for (Subscription subscription : subscriptions) {
             try {
-                Subscription renewed = renewSubscription(subscription);
-                renewedSubscriptions.add(renewed);
-                successCount++;
+                Optional<Subscription> renewed = renewSubscription(subscription);
+                if (renewed.isEmpty()) {
+                    log.info("Subscription {} was changed concurrently and is no longer due - skipping", subscription.getId());
+                    continue;
+                }
+                renewedSubscriptions.add(renewed.get());
                 log.info("Successfully renewed subscription {} for user {}",
                         subscription.getId(), subscription.getUser().getId());
             } catch (Exception e) {
-                failureCount++;
                 log.error("Failed to renew subscription {} for user {} - attempt {}/{}",
                         subscription.getId(),
                         subscription.getUser().getId(),
@@ -54,32 +181,71 @@ public class RenewSubscriptionsUseCase implements RenewSubscriptionsPort {
                         MAX_RENEWAL_ATTEMPTS,
                         e);
 
-                try {
-                    handleRenewalFailure(subscription);
-                    if (subscription.getStatus() == SubscriptionStatus.SUSPENDED) {
-                        suspendedCount++;
-                    }
-                } catch (Exception ex) {
-                    log.error("Error handling renewal failure for subscription {}", subscription.getId(), ex);
+                failureCount++;
+                Optional<Subscription> failed = recordRenewalFailure(subscription);
+                if (failed.isPresent() && failed.get().getStatus() == SubscriptionStatus.SUSPENDED) {
+                    suspendedCount++;
                 }
             }
         }
 
-        log.info("Renewal process completed - Success: {}, Failures: {}, Suspended: {}",
-                successCount, failureCount, suspendedCount);
+        return new PartitionResult(renewedSubscriptions, failureCount, suspendedCount);
+    }
 
-        return renewedSubscriptions;
+    /**
+     * Renews a single subscription in its own transaction. When the save loses to a concurrent
+     * update the subscription is read again and, if it is still due, renewed on top of that change;
+     * an empty result means it no longer needs renewing.
+     */
+    private Optional<Subscription> renewSubscription(Subscription subscription) {
+        return subscriptionUpdateRetry.execute(subscription.getId(), attempt -> {
+            Optional<Subscription> current = attempt == 1 ? Optional.of(subscription) : reloadDue(subscription.getId());
+            return current.map(due -> transactionOperations.execute(status ->
+                    subscriptionRepositoryPort.save(applyRenewal(due.toBuilder().build()))));
+        });
+    }
+
+    /**
+     * Counts a failed renewal in its own transaction, as renewals are, so a conflict on one
+     * subscription does not lose the attempts counted for the others. On a conflict the attempt is
+     * counted again on a fresh read, unless the subscription is no longer due. Returns the saved
+     * subscription, or nothing when it was skipped or could not be saved.
+     */
+    private Optional<Subscription> recordRenewalFailure(Subscription subscription) {
+        try {
+            return subscriptionUpdateRetry.execute(subscription.getId(), attempt -> {
+                Optional<Subscription> current = attempt == 1 ? Optional.of(subscription) : reloadDue(subscription.getId());
+                return current.map(due -> transactionOperations.execute(status -> {
+                    Subscription failed = due.toBuilder().build();
+                    handleRenewalFailure(failed);
+                    return subscriptionRepositoryPort.save(failed);
+                }));
+            });
+        } catch (Exception e) {
+            log.error("Error saving renewal failure for subscription {}", subscription.getId(), e);
+            return Optional.empty();
+        }
     }
 
-    private Subscription renewSubscription(Subscription subscription) {
+    private Optional<Subscription> reloadDue(UUID subscriptionId) {
+        return subscriptionRepositoryPort.findById(subscriptionId)
+                .filter(current -> current.getStatus() == SubscriptionStatus.ACTIVE
+                        && !current.getExpirationDate().isAfter(LocalDate.now()));
+    }
+
+    /**
+     * Enqueues the renewal payment and moves the subscription to its next period. Callers pass a
+     * copy, so a rolled back renewal leaves the original untouched for the failure handling.
+     */
+    private Subscription applyRenewal(Subscription subscription) {
         log.info("Renewing subscription {} for user {} - plan: {}",
                 subscription.getId(),
                 subscription.getUser().getId(),
                 subscription.getPlan());
 
         paymentPort.debitAmount(
-                subscription.getUser().getId(), 
-                subscription.getPlan().getPrice(), 
+                subscription.getUser().getId(),
+                subscription.getPlan().getPrice(),
                 String.format("Renovação de %s", subscription.getPlan().getDescription()),
                 subscription.getId()
         );
@@ -89,8 +255,7 @@ public class RenewSubscriptionsUseCase implements RenewSubscriptionsPort {
         subscription.setUpdatedAt(LocalDateTime.now());
         subscription.setRenewalAttempts(0);
         subscription.setStatus(SubscriptionStatus.PENDING);
-
-        return subscriptionRepositoryPort.save(subscription);
+        return subscription;
     }
 
     private void handleRenewalFailure(Subscription subscription) {
@@ -105,7 +270,7 @@ public class RenewSubscriptionsUseCase implements RenewSubscriptionsPort {
                     subscription.getId(), MAX_RENEWAL_ATTEMPTS);
             subscription.setStatus(SubscriptionStatus.SUSPENDED);
         }
-
-        subscriptionRepositoryPort.save(subscription);
     }
+
+    private record PartitionResult(List<Subscription> renewed, int failures, int suspended) {}
 }
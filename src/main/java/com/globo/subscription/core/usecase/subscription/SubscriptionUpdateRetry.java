@@ -0,0 +1,39 @@
+package com.globo.subscription.core.usecase.subscription;
+
+import com.globo.subscription.core.exception.SubscriptionAlreadyUpdatedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Re-runs a read-modify-write of a subscription when it loses an optimistic locking race. The
+ * update gets the attempt number, starting at 1, and every attempt after the first must re-read
+ * the subscription in its own transaction, so the change is applied on top of the concurrent one.
+ */
+@Slf4j
+@Component
+public class SubscriptionUpdateRetry {
+
+    private final int maxAttempts;
+
+    public SubscriptionUpdateRetry(@Value("${subscription.update.max-attempts:3}") int maxAttempts) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public <T> T execute(UUID subscriptionId, IntFunction<T> update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return update.apply(attempt);
+            } catch (SubscriptionAlreadyUpdatedException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Assinatura {} alterada concorrentemente - desistindo após {} tentativas", subscriptionId, attempt);
+                    throw e;
+                }
+                log.info("Assinatura {} alterada concorrentemente - tentativa {}/{}", subscriptionId, attempt + 1, maxAttempts);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.globo.subscription.core.usecase.subscription;
 
+import com.globo.subscription.core.domain.Subscription;
 import com.globo.subscription.core.domain.enums.SubscriptionStatus;
 import com.globo.subscription.core.exception.SubscriptionNotFoundException;
 import com.globo.subscription.core.port.in.subscription.UpdateSubscriptionStatusPort;
@@ -25,14 +26,15 @@ public class UpdateSubscriptionStatusUseCase implements UpdateSubscriptionStatus
     @Override
     public void execute(UUID subscriptionId, String status) {
 
-        var subscription = subscriptionRepositoryPort.findById(subscriptionId)
-            .orElseThrow(() -> new SubscriptionNotFoundException("Assinatura não encontrada com id: " + subscriptionId));
-
         SubscriptionStatus newStatus = SubscriptionStatus.valueOf(status.toUpperCase());
 
-        subscription.setStatus(newStatus);
-        subscription = subscriptionRepositoryPort.save(subscription);
+        // Nothing is updated when the subscription is already in the requested status; it is then
+        // read only to tell that case apart from a missing subscription.
+        Subscription subscription = subscriptionRepositoryPort.transitionStatus(subscriptionId, newStatus)
+            .or(() -> subscriptionRepositoryPort.findById(subscriptionId))
+            .orElseThrow(() -> new SubscriptionNotFoundException("Assinatura não encontrada com id: " + subscriptionId));
+
         activeSubscriptionCachePort.putActiveSubscription(subscription.getUser().getId(), subscription, ttlSeconds);
         log.info("Status da assinatura {} atualizado para {}", subscriptionId, newStatus);
     }
-}
\ No newline at end of file
+}
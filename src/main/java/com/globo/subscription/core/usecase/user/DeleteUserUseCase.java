@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 import com.globo.subscription.core.exception.UserNotFoundException;
 import com.globo.subscription.core.port.in.user.DeleteUserPort;
 import com.globo.subscription.core.port.out.user.UserRepositoryPort;
+import com.globo.subscription.core.port.out.wallet.WalletCachePort;
 
 import lombok.AllArgsConstructor;
 
@@ -15,6 +16,7 @@ import lombok.AllArgsConstructor;
 public class DeleteUserUseCase implements DeleteUserPort {
 
     private final UserRepositoryPort userRepositoryPort;
+    private final WalletCachePort walletCachePort;
 
     @Override
     public void execute(UUID id) {
@@ -22,5 +24,6 @@ public class DeleteUserUseCase implements DeleteUserPort {
             throw new UserNotFoundException("User not found with id: " + id);
         }
         userRepositoryPort.delete(id);
+        walletCachePort.evictWallet(id);
     }
 }
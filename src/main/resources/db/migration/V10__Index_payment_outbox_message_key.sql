@@ -0,0 +1,6 @@
+-- Serves the per-key ordering check of the relay lease: an event waits while an earlier one of its key is undelivered.
+-- Built CONCURRENTLY outside a transaction (see the .conf next to this script) so outbox inserts are not blocked.
+DROP INDEX CONCURRENTLY IF EXISTS idx_payment_outbox_message_key;
+CREATE INDEX CONCURRENTLY idx_payment_outbox_message_key
+    ON payment_outbox (message_key, id)
+    WHERE dead_lettered_at IS NULL;
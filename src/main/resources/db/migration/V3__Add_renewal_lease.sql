@@ -0,0 +1,3 @@
+-- Renewal lease: a node claims due subscriptions before debiting them so concurrent nodes never pick the same rows
+ALTER TABLE subscriptions ADD COLUMN IF NOT EXISTS renewal_lease_owner VARCHAR(100);
+ALTER TABLE subscriptions ADD COLUMN IF NOT EXISTS renewal_lease_until TIMESTAMP;
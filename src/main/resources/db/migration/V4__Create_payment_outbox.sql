@@ -0,0 +1,10 @@
+-- Payment events are written here in the same transaction as the subscription change and relayed to Kafka asynchronously
+CREATE TABLE IF NOT EXISTS payment_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    message_key VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    trace_id VARCHAR(32),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,2 @@
+-- Row version: incremented on every update, used for optimistic locking and to order cache writes
+ALTER TABLE subscriptions ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,16 @@
+-- Time-ordered UUIDv7 (RFC 9562): 48-bit Unix epoch millis followed by random bits, so new keys land at the
+-- right edge of the B-tree instead of scattering across it. Existing v4 ids remain valid primary keys.
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS uuid AS $$
+    SELECT encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1),
+            53, 1),
+        'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
+ALTER TABLE users ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE subscriptions ALTER COLUMN id SET DEFAULT uuid_generate_v7();
@@ -0,0 +1,34 @@
+-- Indexes shaped after the hot queries; the ones they supersede, and those duplicating primary keys, are dropped.
+-- Runs outside a transaction (see the .conf next to this script) so every index is built and dropped CONCURRENTLY,
+-- without blocking writes to the tables. A concurrent build that fails leaves an INVALID index behind; each one is
+-- dropped first so the script can simply be run again.
+
+-- Existing data may hold several active subscriptions for a user, which would fail the unique index below:
+-- the most recent one is kept and the others are canceled
+UPDATE subscriptions s
+SET status = 'CANCELED', updated_at = CURRENT_TIMESTAMP, version = s.version + 1
+FROM (
+    SELECT id, row_number() OVER (PARTITION BY user_id
+                                  ORDER BY updated_at DESC NULLS LAST, start_date DESC, id DESC) AS position
+    FROM subscriptions
+    WHERE status = 'ACTIVE'
+) active
+WHERE s.id = active.id AND active.position > 1;
+
+-- At most one active subscription per user; serves findByUserIdAndStatus(userId, ACTIVE)
+DROP INDEX CONCURRENTLY IF EXISTS idx_subscription_active_user;
+CREATE UNIQUE INDEX CONCURRENTLY idx_subscription_active_user ON subscriptions(user_id) WHERE status = 'ACTIVE';
+
+-- findFirstByUserIdOrderByStartDateDesc reads the first entry; also covers plain user_id lookups and the FK
+DROP INDEX CONCURRENTLY IF EXISTS idx_subscription_user_start_date;
+CREATE INDEX CONCURRENTLY idx_subscription_user_start_date ON subscriptions(user_id, start_date DESC);
+
+-- Renewal claim: due active rows walked in (expiration_date, id) keyset order
+DROP INDEX CONCURRENTLY IF EXISTS idx_subscription_active_expiration;
+CREATE INDEX CONCURRENTLY idx_subscription_active_expiration ON subscriptions(expiration_date, id) WHERE status = 'ACTIVE';
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_user_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_subscription_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_subscription_plan;
+DROP INDEX CONCURRENTLY IF EXISTS idx_subscription_user_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_subscription_expiration_status;
@@ -0,0 +1,21 @@
+-- One live (ACTIVE or PENDING) subscription per user. New and reactivated subscriptions are saved as PENDING,
+-- so covering only ACTIVE would let a concurrent create slip through before its payment is confirmed.
+
+-- Existing data may hold several pending subscriptions for a user, or a pending one next to the active one:
+-- the most recent live subscription is kept and the others are canceled before the index is rebuilt
+UPDATE subscriptions s
+SET status = 'CANCELED', updated_at = CURRENT_TIMESTAMP, version = s.version + 1
+FROM (
+    SELECT id, row_number() OVER (PARTITION BY user_id
+                                  ORDER BY updated_at DESC NULLS LAST, start_date DESC, id DESC) AS position
+    FROM subscriptions
+    WHERE status IN ('ACTIVE', 'PENDING')
+) live
+WHERE s.id = live.id AND live.position > 1;
+
+-- Runs outside a transaction (see the .conf next to this script): the new index is built CONCURRENTLY under a
+-- temporary name, so the old one keeps guarding writes until it is swapped in
+DROP INDEX CONCURRENTLY IF EXISTS idx_subscription_live_user;
+CREATE UNIQUE INDEX CONCURRENTLY idx_subscription_live_user ON subscriptions(user_id) WHERE status IN ('ACTIVE', 'PENDING');
+DROP INDEX CONCURRENTLY IF EXISTS idx_subscription_active_user;
+ALTER INDEX idx_subscription_live_user RENAME TO idx_subscription_active_user;
@@ -0,0 +1,7 @@
+-- Failed relays are retried with backoff and parked as dead letters after too many attempts
+ALTER TABLE payment_outbox ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE payment_outbox ADD COLUMN IF NOT EXISTS dead_lettered_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_payment_outbox_pending
+    ON payment_outbox (next_attempt_at, id)
+    WHERE dead_lettered_at IS NULL;
@@ -3,23 +3,39 @@ package com.globo.subscription.adapter.datasource.database;
 import com.globo.subscription.adapter.datasource.database.entity.SubscriptionEntity;
 import com.globo.subscription.adapter.datasource.database.mapper.SubscriptionMapper;
 import com.globo.subscription.adapter.datasource.database.repository.subscription.SubscriptionRepository;
+import com.globo.subscription.adapter.datasource.database.repository.subscription.SubscriptionRow;
+import com.globo.subscription.core.domain.RenewalCursor;
 import com.globo.subscription.core.domain.Subscription;
 import com.globo.subscription.core.domain.User;
 import com.globo.subscription.core.domain.enums.SubscriptionStatus;
+import com.globo.subscription.core.exception.ActiveSubscriptionAlreadyExistsException;
+import com.globo.subscription.core.exception.SubscriptionAlreadyUpdatedException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class SubscriptionDatabaseAdapterTest {
@@ -51,11 +67,60 @@ class SubscriptionDatabaseAdapterTest {
     @Test
     void save_shouldPersistAndReturnDomain() {
         when(subscriptionMapper.toEntity(domain)).thenReturn(entity);
-        when(subscriptionRepository.save(entity)).thenReturn(entity);
+        when(subscriptionRepository.saveAndFlush(entity)).thenReturn(entity);
         when(subscriptionMapper.toDomain(entity)).thenReturn(domain);
         Subscription result = adapter.save(domain);
         assertThat(result).isEqualTo(domain);
-        verify(subscriptionRepository).save(entity);
+        verify(subscriptionRepository).saveAndFlush(entity);
+    }
+
+    @Test
+    void save_shouldTranslateOptimisticLockFailure() {
+        when(subscriptionMapper.toEntity(domain)).thenReturn(entity);
+        when(subscriptionRepository.saveAndFlush(entity))
+                .thenThrow(new ObjectOptimisticLockingFailureException(SubscriptionEntity.class, subscriptionId));
+        assertThatThrownBy(() -> adapter.save(domain))
+                .isInstanceOf(SubscriptionAlreadyUpdatedException.class);
+    }
+
+    @Test
+    void save_shouldTranslateActiveUserIndexViolation() {
+        when(subscriptionMapper.toEntity(domain)).thenReturn(entity);
+        when(subscriptionRepository.saveAndFlush(entity)).thenThrow(new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"),
+                        "idx_subscription_active_user")));
+        assertThatThrownBy(() -> adapter.save(domain))
+                .isInstanceOf(ActiveSubscriptionAlreadyExistsException.class)
+                .hasMessageContaining(userId.toString());
+    }
+
+    @Test
+    void save_shouldRethrowOtherIntegrityViolations() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("fk violation",
+                new ConstraintViolationException("fk violation", new SQLException("fk violation", "23503"),
+                        "fk_subscriptions_user"));
+        when(subscriptionMapper.toEntity(domain)).thenReturn(entity);
+        when(subscriptionRepository.saveAndFlush(entity)).thenThrow(violation);
+        assertThatThrownBy(() -> adapter.save(domain)).isSameAs(violation);
+    }
+
+    @Test
+    void saveAll_shouldPreloadRowsAndFlushOnce() {
+        when(subscriptionMapper.toEntity(domain)).thenReturn(entity);
+        when(subscriptionRepository.saveAll(List.of(entity))).thenReturn(List.of(entity));
+        when(subscriptionMapper.toDomain(entity)).thenReturn(domain);
+        List<Subscription> result = adapter.saveAll(List.of(domain));
+        assertThat(result).containsExactly(domain);
+        InOrder inOrder = inOrder(subscriptionRepository);
+        inOrder.verify(subscriptionRepository).findAllWithUserByIdIn(List.of(subscriptionId));
+        inOrder.verify(subscriptionRepository).saveAll(List.of(entity));
+        inOrder.verify(subscriptionRepository).flush();
+    }
+
+    @Test
+    void saveAll_shouldNotTouchRepositoryForEmptyInput() {
+        assertThat(adapter.saveAll(List.of())).isEmpty();
+        verifyNoInteractions(subscriptionRepository);
     }
 
     @Test
@@ -104,21 +169,133 @@ class SubscriptionDatabaseAdapterTest {
     }
 
     @Test
-    void findSubscriptionsToRenew_shouldReturnMappedList() {
+    void claimSubscriptionsToRenew_shouldReturnClaimedSubscriptions() {
         LocalDate date = LocalDate.now();
-        List<SubscriptionEntity> entities = List.of(entity);
-        List<Subscription> domains = List.of(domain);
-        when(subscriptionRepository.findSubscriptionsToRenew(eq(date), any(PageRequest.class))).thenReturn(entities);
+        ReflectionTestUtils.setField(adapter, "leaseOwner", "node-1");
+        ReflectionTestUtils.setField(adapter, "leaseDurationSeconds", 300L);
+        when(subscriptionRepository.claimSubscriptionsToRenew(date, null, null, 10, "node-1", 300L))
+                .thenReturn(List.of(subscriptionId));
+        when(subscriptionRepository.findAllWithUserByIdIn(List.of(subscriptionId))).thenReturn(List.of(entity));
         when(subscriptionMapper.toDomain(entity)).thenReturn(domain);
-        List<Subscription> result = adapter.findSubscriptionsToRenew(date, 10);
-        assertThat(result).containsExactlyElementsOf(domains);
+        List<Subscription> result = adapter.claimSubscriptionsToRenew(date, null, 10);
+        assertThat(result).containsExactly(domain);
+    }
+
+    @Test
+    void claimSubscriptionsToRenew_shouldReturnEmptyListWhenNothingClaimed() {
+        LocalDate date = LocalDate.now();
+        when(subscriptionRepository.claimSubscriptionsToRenew(eq(date), any(), any(), eq(10), any(), anyLong()))
+                .thenReturn(Collections.emptyList());
+        List<Subscription> result = adapter.claimSubscriptionsToRenew(date, null, 10);
+        assertThat(result).isEmpty();
+        verify(subscriptionRepository, never()).findAllWithUserByIdIn(any());
     }
 
     @Test
-    void findSubscriptionsToRenew_shouldReturnEmptyList() {
+    void claimSubscriptionsToRenew_shouldSeekAfterCursor() {
         LocalDate date = LocalDate.now();
-        when(subscriptionRepository.findSubscriptionsToRenew(eq(date), any(PageRequest.class))).thenReturn(Collections.emptyList());
-        List<Subscription> result = adapter.findSubscriptionsToRenew(date, 10);
+        RenewalCursor cursor = new RenewalCursor(date.minusDays(1), UUID.randomUUID());
+        when(subscriptionRepository.claimSubscriptionsToRenew(eq(date), eq(cursor.expirationDate()), eq(cursor.id()), eq(10), any(), anyLong()))
+                .thenReturn(List.of(subscriptionId));
+        when(subscriptionRepository.findAllWithUserByIdIn(List.of(subscriptionId))).thenReturn(List.of(entity));
+        when(subscriptionMapper.toDomain(entity)).thenReturn(domain);
+        List<Subscription> result = adapter.claimSubscriptionsToRenew(date, cursor, 10);
+        assertThat(result).containsExactly(domain);
+    }
+
+    @Test
+    void findActiveByUserIds_shouldReturnMappedList() {
+        when(subscriptionRepository.findActiveByUserIdIn(List.of(userId))).thenReturn(List.of(entity));
+        when(subscriptionMapper.toDomain(entity)).thenReturn(domain);
+        List<Subscription> result = adapter.findActiveByUserIds(List.of(userId));
+        assertThat(result).containsExactly(domain);
+    }
+
+    @Test
+    void findActiveByUserIds_shouldNotQueryForEmptyInput() {
+        List<Subscription> result = adapter.findActiveByUserIds(List.of());
         assertThat(result).isEmpty();
+        verify(subscriptionRepository, never()).findActiveByUserIdIn(any());
+    }
+
+    @Test
+    void findActivePage_shouldStartFromFirstRowWithoutCursor() {
+        when(subscriptionRepository.findActiveOrderById(Limit.of(100))).thenReturn(List.of(entity));
+        when(subscriptionMapper.toDomain(entity)).thenReturn(domain);
+        List<Subscription> result = adapter.findActivePage(null, 100);
+        assertThat(result).containsExactly(domain);
+        verify(subscriptionRepository, never()).findActiveAfterIdOrderById(any(), any());
+    }
+
+    @Test
+    void findActivePage_shouldSeekAfterLastId() {
+        when(subscriptionRepository.findActiveAfterIdOrderById(subscriptionId, Limit.of(100))).thenReturn(List.of(entity));
+        when(subscriptionMapper.toDomain(entity)).thenReturn(domain);
+        List<Subscription> result = adapter.findActivePage(subscriptionId, 100);
+        assertThat(result).containsExactly(domain);
+    }
+
+    @Test
+    void transitionStatus_shouldMapUpdatedRow() {
+        SubscriptionRow row = mock(SubscriptionRow.class);
+        when(subscriptionRepository.transitionStatus(eq(subscriptionId), eq("CANCELED"), any())).thenReturn(Optional.of(row));
+        when(subscriptionMapper.toDomain(row)).thenReturn(domain);
+        Optional<Subscription> result = adapter.transitionStatus(subscriptionId, SubscriptionStatus.CANCELED);
+        assertThat(result).contains(domain);
+    }
+
+    @Test
+    void transitionStatus_shouldReturnEmptyWhenNothingWasUpdated() {
+        when(subscriptionRepository.transitionStatus(eq(subscriptionId), eq("CANCELED"), any())).thenReturn(Optional.empty());
+        Optional<Subscription> result = adapter.transitionStatus(subscriptionId, SubscriptionStatus.CANCELED);
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void transitionStatus_shouldTranslateActiveUserIndexViolation() {
+        when(subscriptionRepository.transitionStatus(eq(subscriptionId), eq("ACTIVE"), any())).thenThrow(activeUserViolation());
+        assertThatThrownBy(() -> adapter.transitionStatus(subscriptionId, SubscriptionStatus.ACTIVE))
+                .isInstanceOf(ActiveSubscriptionAlreadyExistsException.class)
+                .hasMessageContaining(subscriptionId.toString());
+    }
+
+    @Test
+    void transitionStatus_shouldRethrowOtherIntegrityViolations() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("check violation",
+                new ConstraintViolationException("check violation", new SQLException("check violation", "23514"),
+                        "chk_subscription_status"));
+        when(subscriptionRepository.transitionStatus(eq(subscriptionId), eq("ACTIVE"), any())).thenThrow(violation);
+        assertThatThrownBy(() -> adapter.transitionStatus(subscriptionId, SubscriptionStatus.ACTIVE)).isSameAs(violation);
+    }
+
+    @Test
+    void transitionPendingStatus_shouldTranslateActiveUserIndexViolation() {
+        when(subscriptionRepository.transitionPendingStatus(eq(List.of(subscriptionId)), eq("ACTIVE"), any()))
+                .thenThrow(activeUserViolation());
+        assertThatThrownBy(() -> adapter.transitionPendingStatus(List.of(subscriptionId), SubscriptionStatus.ACTIVE))
+                .isInstanceOf(ActiveSubscriptionAlreadyExistsException.class)
+                .hasMessageContaining(subscriptionId.toString());
+    }
+
+    private static DataIntegrityViolationException activeUserViolation() {
+        return new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"),
+                        "idx_subscription_active_user"));
+    }
+
+    @Test
+    void transitionPendingStatus_shouldMapUpdatedRows() {
+        SubscriptionRow row = mock(SubscriptionRow.class);
+        when(subscriptionRepository.transitionPendingStatus(eq(List.of(subscriptionId)), eq("ACTIVE"), any()))
+                .thenReturn(List.of(row));
+        when(subscriptionMapper.toDomain(row)).thenReturn(domain);
+        List<Subscription> result = adapter.transitionPendingStatus(List.of(subscriptionId), SubscriptionStatus.ACTIVE);
+        assertThat(result).containsExactly(domain);
+    }
+
+    @Test
+    void transitionPendingStatus_shouldSkipQueryForEmptyInput() {
+        assertThat(adapter.transitionPendingStatus(List.of(), SubscriptionStatus.ACTIVE)).isEmpty();
+        verifyNoInteractions(subscriptionRepository);
     }
 }
@@ -0,0 +1,122 @@
+package com.globo.subscription.adapter.datasource.database;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the migrations against a real PostgreSQL and checks that the hot subscription queries are
+ * planned on the indexes created for them.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SubscriptionIndexPlanTest {
+
+    @Container
+    private static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:15-alpine");
+
+    private static UUID sampleUserId;
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO users (name, email)
+                    SELECT 'User ' || i, 'user' || i || '@test.com' FROM generate_series(1, 5000) i
+                    """);
+            // One active and three canceled subscriptions per user, expirations spread over a year
+            statement.execute("""
+                    INSERT INTO subscriptions (user_id, plan, start_date, expiration_date, status)
+                    SELECT u.id, 'BASIC', current_date - (n * 30), current_date + (abs(hashtext(u.email)) % 365) - 180,
+                           CASE WHEN n = 0 THEN 'ACTIVE' ELSE 'CANCELED' END
+                    FROM users u CROSS JOIN generate_series(0, 3) n
+                    """);
+            statement.execute("ANALYZE users");
+            statement.execute("ANALYZE subscriptions");
+
+            try (ResultSet rs = statement.executeQuery("SELECT id FROM users LIMIT 1")) {
+                rs.next();
+                sampleUserId = rs.getObject(1, UUID.class);
+            }
+        }
+    }
+
+    @Test
+    void findByUserIdAndStatus_shouldUseActiveUserIndex() throws SQLException {
+        String plan = explain("SELECT * FROM subscriptions WHERE user_id = '%s' AND status = 'ACTIVE'"
+                .formatted(sampleUserId));
+
+        assertThat(plan).contains("idx_subscription_active_user");
+    }
+
+    @Test
+    void findFirstByUserIdOrderByStartDateDesc_shouldReadUserStartDateIndexWithoutSorting() throws SQLException {
+        String plan = explain("SELECT * FROM subscriptions WHERE user_id = '%s' ORDER BY start_date DESC LIMIT 1"
+                .formatted(sampleUserId));
+
+        assertThat(plan).contains("idx_subscription_user_start_date");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    @Test
+    void claimSubscriptionsToRenew_shouldWalkActiveExpirationIndexInKeysetOrder() throws SQLException {
+        String plan = explain("""
+                SELECT c.id FROM subscriptions c
+                WHERE c.status = 'ACTIVE' AND c.expiration_date <= current_date
+                  AND (c.renewal_lease_until IS NULL OR c.renewal_lease_until < now())
+                  AND (c.expiration_date, c.id) > (current_date - 200, '00000000-0000-0000-0000-000000000000'::uuid)
+                ORDER BY c.expiration_date, c.id
+                LIMIT 100
+                FOR UPDATE SKIP LOCKED
+                """);
+
+        assertThat(plan).contains("idx_subscription_active_expiration");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    @Test
+    void secondActiveSubscriptionForSameUser_shouldBeRejected() {
+        assertThatThrownBy(() -> {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("""
+                        INSERT INTO subscriptions (user_id, plan, expiration_date, status)
+                        VALUES ('%s', 'PREMIUM', current_date + 30, 'ACTIVE')
+                        """.formatted(sampleUserId));
+            }
+        }).isInstanceOf(SQLException.class)
+                .hasMessageContaining("idx_subscription_active_user");
+    }
+
+    private static String explain(String query) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN " + query)) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
@@ -0,0 +1,88 @@
+package com.globo.subscription.adapter.datasource.database;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the migrations against a real PostgreSQL and checks the ids produced by the
+ * {@code uuid_generate_v7()} column default.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UuidV7DefaultTest {
+
+    @Container
+    private static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:15-alpine");
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void defaultIds_shouldCarryVersion7TheRfcVariantAndTheInsertTime() throws SQLException {
+        long before = System.currentTimeMillis();
+        UUID id = insertUser("first");
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        // The container clock may drift slightly from the test's
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before - 1000, after + 1000);
+    }
+
+    @Test
+    void idsInsertedInOrder_shouldSortByTime() throws SQLException {
+        List<UUID> ids = new ArrayList<>();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            for (int i = 0; i < 20; i++) {
+                ids.add(insertUser(statement, "ordered-" + i));
+                statement.execute("SELECT pg_sleep(0.002)");
+            }
+            try (ResultSet rs = statement.executeQuery("SELECT id FROM users WHERE email LIKE 'ordered-%' ORDER BY id")) {
+                List<UUID> sortedByDatabase = new ArrayList<>();
+                while (rs.next()) {
+                    sortedByDatabase.add(rs.getObject(1, UUID.class));
+                }
+                assertThat(sortedByDatabase).isEqualTo(ids);
+            }
+        }
+        assertThat(ids).isSortedAccordingTo(Comparator.comparing(UUID::toString));
+    }
+
+    private static UUID insertUser(String name) throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            return insertUser(statement, name);
+        }
+    }
+
+    private static UUID insertUser(Statement statement, String name) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(
+                "INSERT INTO users (name, email) VALUES ('" + name + "', '" + name + "@test.com') RETURNING id")) {
+            rs.next();
+            return rs.getObject(1, UUID.class);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
@@ -0,0 +1,55 @@
+package com.globo.subscription.adapter.datasource.database.entity;
+
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.id.uuid.UuidVersion7Strategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the entities generate their ids as UUIDv7 (RFC 9562) and that such ids follow the
+ * order in which they were generated, which is what keeps primary key inserts at the right edge
+ * of the B-tree.
+ */
+class UuidV7IdGenerationTest {
+
+    @Test
+    void entities_shouldGenerateIdsAsVersion7() throws NoSuchFieldException {
+        for (Class<?> entity : List.of(SubscriptionEntity.class, UserEntity.class)) {
+            UuidGenerator generator = entity.getDeclaredField("id").getAnnotation(UuidGenerator.class);
+
+            assertThat(generator).as("%s id generator", entity.getSimpleName()).isNotNull();
+            assertThat(generator.style()).isEqualTo(UuidGenerator.Style.VERSION_7);
+        }
+    }
+
+    @Test
+    void generatedIds_shouldCarryVersion7AndTheRfcVariant() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidVersion7Strategy.INSTANCE.generateUuid(null);
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        // IETF variant: the two most significant bits of octet 8 are 10
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, after);
+    }
+
+    @Test
+    void idsGeneratedInOrder_shouldSortByTime() throws InterruptedException {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(UuidVersion7Strategy.INSTANCE.generateUuid(null));
+            Thread.sleep(2);
+        }
+
+        // Compared as PostgreSQL compares uuid values: unsigned, byte by byte
+        assertThat(ids).isSortedAccordingTo(Comparator.comparing(UUID::toString));
+        assertThat(ids).doesNotHaveDuplicates();
+    }
+}
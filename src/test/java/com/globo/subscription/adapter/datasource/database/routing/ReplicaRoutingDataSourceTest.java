@@ -0,0 +1,96 @@
+package com.globo.subscription.adapter.datasource.database.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica1;
+    private DataSource replica2;
+    private Connection primaryConnection;
+    private Connection replica1Connection;
+    private Connection replica2Connection;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replica1 = mock(DataSource.class);
+        replica2 = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replica1Connection = mock(Connection.class);
+        replica2Connection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        routing = new ReplicaRoutingDataSource(primary, replicas, 1000);
+        routing.afterPropertiesSet();
+    }
+
+    @Test
+    void getConnection_shouldUsePrimaryBeforeReplicasAreChecked() throws SQLException {
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void getConnection_shouldRoundRobinAcrossHealthyReplicas() throws SQLException {
+        stubLag(replica1Connection, 10);
+        stubLag(replica2Connection, 20);
+
+        routing.refreshReplicaHealth();
+
+        assertThat(routing.healthyReplicas()).containsExactly("replica-1", "replica-2");
+        assertThat(routing.getConnection()).isSameAs(replica1Connection);
+        assertThat(routing.getConnection()).isSameAs(replica2Connection);
+        assertThat(routing.getConnection()).isSameAs(replica1Connection);
+    }
+
+    @Test
+    void refreshReplicaHealth_shouldSkipLaggingReplica() throws SQLException {
+        stubLag(replica1Connection, 5000);
+        stubLag(replica2Connection, 0);
+
+        routing.refreshReplicaHealth();
+
+        assertThat(routing.healthyReplicas()).containsExactly("replica-2");
+        assertThat(routing.getConnection()).isSameAs(replica2Connection);
+    }
+
+    @Test
+    void refreshReplicaHealth_shouldFallBackToPrimaryWhenNoReplicaQualifies() throws SQLException {
+        stubLag(replica1Connection, 5000);
+        when(replica2Connection.createStatement()).thenThrow(new SQLException("connection refused"));
+
+        routing.refreshReplicaHealth();
+
+        assertThat(routing.healthyReplicas()).isEmpty();
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    private static void stubLag(Connection connection, long lagMillis) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getLong(1)).thenReturn(lagMillis);
+    }
+}
@@ -0,0 +1,53 @@
+package com.globo.subscription.adapter.datasource.database.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkloadRoutingDataSourceTest {
+
+    private Connection primaryConnection;
+    private Connection renewalConnection;
+    private WorkloadRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource primary = mock(DataSource.class);
+        DataSource renewal = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        renewalConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(renewal.getConnection()).thenReturn(renewalConnection);
+        routing = new WorkloadRoutingDataSource(primary, renewal);
+        routing.afterPropertiesSet();
+    }
+
+    @Test
+    void getConnection_shouldUsePrimaryPoolByDefault() throws SQLException {
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void getConnection_shouldUseRenewalPoolInsideRenewalTask() throws SQLException {
+        AtomicReference<Connection> connection = new AtomicReference<>();
+
+        WorkloadRoutingDataSource.onRenewalPool(() -> {
+            try {
+                connection.set(routing.getConnection());
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }).run();
+
+        assertThat(connection.get()).isSameAs(renewalConnection);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+}
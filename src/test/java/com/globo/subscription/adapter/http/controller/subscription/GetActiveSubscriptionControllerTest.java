@@ -1,7 +1,13 @@
 package com.globo.subscription.adapter.http.controller.subscription;
 
+import com.globo.subscription.adapter.http.dto.ActiveSubscriptionBatchRequest;
+import com.globo.subscription.adapter.http.dto.ActiveSubscriptionBatchResponse;
 import com.globo.subscription.adapter.http.dto.ActiveSubscriptionResponse;
+import com.globo.subscription.adapter.http.dto.SubscriptionEntitlementResponse;
 import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.SubscriptionEntitlement;
+import com.globo.subscription.core.domain.enums.SubscriptionStatus;
+import com.globo.subscription.core.domain.enums.TypePlan;
 import com.globo.subscription.core.port.out.subscription.ActiveSubscriptionCachePort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +16,9 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -50,4 +59,33 @@ class GetActiveSubscriptionControllerTest {
         assertThat(response.getStatusCode().value()).isEqualTo(404);
         assertThat(response.getBody()).isNull();
     }
+
+    @Test
+    void getActiveSubscriptions_shouldReturnFoundSubscriptionsByUser() {
+        UUID otherUserId = UUID.randomUUID();
+        when(cachePort.getActiveSubscriptions(List.of(userId, otherUserId))).thenReturn(Map.of(userId, subscription));
+        ResponseEntity<ActiveSubscriptionBatchResponse> response =
+                controller.getActiveSubscriptions(new ActiveSubscriptionBatchRequest(List.of(userId, otherUserId)));
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().subscriptions()).containsExactly(Map.entry(userId, subscription));
+    }
+
+    @Test
+    void getEntitlement_shouldReturnOkWhenSubscriptionExists() {
+        SubscriptionEntitlement entitlement = new SubscriptionEntitlement(TypePlan.PREMIUM, SubscriptionStatus.ACTIVE, LocalDate.now().plusDays(10));
+        when(cachePort.getEntitlement(userId)).thenReturn(Optional.of(entitlement));
+        ResponseEntity<SubscriptionEntitlementResponse> response = controller.getEntitlement(userId);
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().entitlement()).isEqualTo(entitlement);
+    }
+
+    @Test
+    void getEntitlement_shouldReturnNotFoundWhenSubscriptionDoesNotExist() {
+        when(cachePort.getEntitlement(userId)).thenReturn(Optional.empty());
+        ResponseEntity<SubscriptionEntitlementResponse> response = controller.getEntitlement(userId);
+        assertThat(response.getStatusCode().value()).isEqualTo(404);
+        assertThat(response.getBody()).isNull();
+    }
 }
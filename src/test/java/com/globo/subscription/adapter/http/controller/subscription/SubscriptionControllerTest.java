@@ -1,12 +1,16 @@
 package com.globo.subscription.adapter.http.controller.subscription;
 
+import com.globo.subscription.adapter.http.dto.subscription.SubscriptionCreationRequestResponse;
 import com.globo.subscription.adapter.http.dto.subscription.SubscriptionRequest;
 import com.globo.subscription.adapter.http.dto.subscription.SubscriptionResponse;
 import com.globo.subscription.adapter.http.dto.subscription.UpdateSubscriptionStatusRequest;
 import com.globo.subscription.adapter.http.mapper.SubscriptionDTOMapper;
 import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.SubscriptionCreationRequest;
 import com.globo.subscription.core.port.in.subscription.CancelSubscriptionPort;
+import com.globo.subscription.core.port.in.subscription.CreateSubscriptionAsyncPort;
 import com.globo.subscription.core.port.in.subscription.CreateSubscriptionPort;
+import com.globo.subscription.core.port.in.subscription.GetSubscriptionCreationRequestPort;
 import com.globo.subscription.core.port.in.subscription.UpdateSubscriptionStatusPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,6 +31,7 @@ import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,6 +40,10 @@ class SubscriptionControllerTest {
     @Mock
     private CreateSubscriptionPort createSubscriptionPort;
     @Mock
+    private CreateSubscriptionAsyncPort createSubscriptionAsyncPort;
+    @Mock
+    private GetSubscriptionCreationRequestPort getSubscriptionCreationRequestPort;
+    @Mock
     private CancelSubscriptionPort cancelSubscriptionPort;
     @Mock
     private UpdateSubscriptionStatusPort updateSubscriptionStatusPort;
@@ -86,6 +95,50 @@ class SubscriptionControllerTest {
         }
     }
 
+    @Test
+    void createAsync_shouldReturnAcceptedWithRequestLocation() {
+        SubscriptionCreationRequest creationRequest = SubscriptionCreationRequest.processing(UUID.randomUUID());
+        SubscriptionCreationRequestResponse creationResponse = new SubscriptionCreationRequestResponse(
+                creationRequest.id(), creationRequest.userId(), "PROCESSANDO", null, null);
+        when(subscriptionDTOMapper.toDomain(request)).thenReturn(subscription);
+        when(createSubscriptionAsyncPort.execute(subscription)).thenReturn(creationRequest);
+        when(subscriptionDTOMapper.toResponse(creationRequest)).thenReturn(creationResponse);
+
+        ServletUriComponentsBuilder builder = mock(ServletUriComponentsBuilder.class);
+        UriComponents uriComponents = mock(UriComponents.class);
+        when(builder.path("/requests/{id}")).thenReturn(builder);
+        when(builder.buildAndExpand(creationRequest.id())).thenReturn(uriComponents);
+        when(uriComponents.toUri()).thenReturn(URI.create("/subscriptions/requests/" + creationRequest.id()));
+
+        try (MockedStatic<ServletUriComponentsBuilder> staticBuilder = mockStatic(ServletUriComponentsBuilder.class)) {
+            staticBuilder.when(ServletUriComponentsBuilder::fromCurrentRequest).thenReturn(builder);
+
+            ResponseEntity<SubscriptionCreationRequestResponse> result = controller.createAsync(request);
+
+            assertThat(result.getStatusCode().value()).isEqualTo(202);
+            assertThat(result.getBody()).isEqualTo(creationResponse);
+            assertThat(result.getHeaders().getLocation())
+                    .isEqualTo(URI.create("/subscriptions/requests/" + creationRequest.id()));
+            assertThat(result.getHeaders().getFirst("Preference-Applied")).isEqualTo("respond-async");
+            verify(createSubscriptionPort, never()).execute(any());
+        }
+    }
+
+    @Test
+    void getCreationRequest_shouldReturnRequestStatus() {
+        SubscriptionCreationRequest creationRequest = SubscriptionCreationRequest.processing(UUID.randomUUID())
+                .completed(subscriptionId);
+        SubscriptionCreationRequestResponse creationResponse = new SubscriptionCreationRequestResponse(
+                creationRequest.id(), creationRequest.userId(), "CONCLUIDA", subscriptionId, null);
+        when(getSubscriptionCreationRequestPort.execute(creationRequest.id())).thenReturn(creationRequest);
+        when(subscriptionDTOMapper.toResponse(creationRequest)).thenReturn(creationResponse);
+
+        ResponseEntity<SubscriptionCreationRequestResponse> result = controller.getCreationRequest(creationRequest.id());
+
+        assertThat(result.getStatusCode().value()).isEqualTo(200);
+        assertThat(result.getBody()).isEqualTo(creationResponse);
+    }
+
     @Test
     void cancel_shouldReturnNoContent() {
         doNothing().when(cancelSubscriptionPort).execute(subscriptionId);
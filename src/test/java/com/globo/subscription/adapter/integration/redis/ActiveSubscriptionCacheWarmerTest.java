@@ -0,0 +1,143 @@
+package com.globo.subscription.adapter.integration.redis;
+
+import com.globo.subscription.adapter.integration.redis.store.ActiveSubscriptionStore;
+import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.User;
+import com.globo.subscription.core.port.out.subscription.SubscriptionRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ActiveSubscriptionCacheWarmerTest {
+
+    @Mock
+    private SubscriptionRepositoryPort subscriptionRepositoryPort;
+    @Mock
+    private ActiveSubscriptionStore activeSubscriptionStore;
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private ActiveSubscriptionCacheWarmer warmer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        warmer = new ActiveSubscriptionCacheWarmer(subscriptionRepositoryPort, activeSubscriptionStore, stringRedisTemplate);
+        ReflectionTestUtils.setField(warmer, "pageSize", 2);
+        ReflectionTestUtils.setField(warmer, "rowsPerSecond", 0);
+        ReflectionTestUtils.setField(warmer, "readyPercentage", 50);
+        ReflectionTestUtils.setField(warmer, "ttlSeconds", 3600L);
+        ReflectionTestUtils.setField(warmer, "ttlJitter", 0.1);
+        ReflectionTestUtils.setField(warmer, "maxWaitSeconds", 5L);
+        ReflectionTestUtils.setField(warmer, "lockTtlMillis", 60000L);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void warmUp_shouldStreamActiveSubscriptionsInKeysetPages() throws Exception {
+        Subscription first = subscription();
+        Subscription second = subscription();
+        Subscription third = subscription();
+        when(subscriptionRepositoryPort.countActive()).thenReturn(3L);
+        when(subscriptionRepositoryPort.findActivePage(null, 2)).thenReturn(List.of(first, second));
+        when(subscriptionRepositoryPort.findActivePage(second.getId(), 2)).thenReturn(List.of(third));
+        AtomicInteger readyCalls = new AtomicInteger();
+
+        warmer.warmUp(readyCalls::incrementAndGet);
+
+        verify(activeSubscriptionStore).putAllIfAbsent(
+                argThat(entries -> entries.keySet().equals(Set.of(first.getUser().getId(), second.getUser().getId()))),
+                longThat(ttl -> ttl >= 3240 && ttl <= 3600));
+        verify(activeSubscriptionStore).putAllIfAbsent(
+                argThat(entries -> entries.size() == 1 && entries.get(third.getUser().getId()).getSubscription() == third),
+                anyLong());
+        verify(subscriptionRepositoryPort, times(2)).findActivePage(any(), eq(2));
+        verify(valueOperations).set(eq(ActiveSubscriptionCacheWarmer.MARKER_KEY), any());
+        assertThat(readyCalls).hasPositiveValue();
+    }
+
+    @Test
+    void warmUp_shouldReportReadyWhenNothingIsActive() throws Exception {
+        when(subscriptionRepositoryPort.countActive()).thenReturn(0L);
+        when(subscriptionRepositoryPort.findActivePage(null, 2)).thenReturn(List.of());
+        AtomicInteger readyCalls = new AtomicInteger();
+
+        warmer.warmUp(readyCalls::incrementAndGet);
+
+        assertThat(readyCalls).hasPositiveValue();
+        verify(activeSubscriptionStore, never()).putAllIfAbsent(anyMap(), anyLong());
+    }
+
+    @Test
+    void checkFailover_shouldDoNothingWhileMarkerExists() {
+        when(stringRedisTemplate.hasKey(ActiveSubscriptionCacheWarmer.MARKER_KEY)).thenReturn(true);
+
+        warmer.checkFailover();
+
+        verifyNoInteractions(subscriptionRepositoryPort);
+        verify(valueOperations, never()).setIfAbsent(any(), any(), any(Duration.class));
+    }
+
+    @Test
+    void run_shouldSkipWarmUpWhenMarkerExists() throws Exception {
+        when(stringRedisTemplate.hasKey(ActiveSubscriptionCacheWarmer.MARKER_KEY)).thenReturn(true);
+
+        warmer.run(null);
+
+        verifyNoInteractions(subscriptionRepositoryPort);
+    }
+
+    @Test
+    void checkFailover_shouldLeaveWarmUpToTheNodeHoldingTheLock() {
+        when(stringRedisTemplate.hasKey(ActiveSubscriptionCacheWarmer.MARKER_KEY)).thenReturn(false);
+        when(valueOperations.setIfAbsent(eq(ActiveSubscriptionCacheWarmer.LOCK_KEY), any(), any(Duration.class)))
+                .thenReturn(false);
+
+        warmer.checkFailover();
+
+        verifyNoInteractions(subscriptionRepositoryPort, activeSubscriptionStore);
+    }
+
+    @Test
+    void run_shouldWarmUpAndReleaseLockWhenMarkerIsMissing() throws Exception {
+        when(stringRedisTemplate.hasKey(ActiveSubscriptionCacheWarmer.MARKER_KEY)).thenReturn(false);
+        when(valueOperations.setIfAbsent(eq(ActiveSubscriptionCacheWarmer.LOCK_KEY), any(), any(Duration.class)))
+                .thenReturn(true);
+        when(subscriptionRepositoryPort.countActive()).thenReturn(0L);
+        when(subscriptionRepositoryPort.findActivePage(null, 2)).thenReturn(List.of());
+
+        warmer.run(null);
+
+        verify(valueOperations, timeout(5000)).set(eq(ActiveSubscriptionCacheWarmer.MARKER_KEY), any());
+        verify(stringRedisTemplate, timeout(5000)).execute(any(RedisScript.class),
+                eq(List.of(ActiveSubscriptionCacheWarmer.LOCK_KEY)), any());
+    }
+
+    private Subscription subscription() {
+        Subscription subscription = new Subscription();
+        subscription.setId(UUID.randomUUID());
+        subscription.setUser(new User(UUID.randomUUID(), "Usuário", "usuario@globo.com"));
+        return subscription;
+    }
+}
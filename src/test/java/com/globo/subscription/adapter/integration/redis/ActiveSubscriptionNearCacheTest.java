@@ -0,0 +1,228 @@
+package com.globo.subscription.adapter.integration.redis;
+
+import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.User;
+import com.globo.subscription.core.domain.enums.SubscriptionStatus;
+import com.globo.subscription.core.domain.enums.TypePlan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ActiveSubscriptionNearCacheTest {
+
+    private static final String CHANNEL = "active-subscription-invalidation";
+
+    @Mock
+    private ActiveSubscriptionRedisAdapter redisAdapter;
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private ActiveSubscriptionNearCache nearCache;
+    private UUID userId;
+    private Subscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        nearCache = new ActiveSubscriptionNearCache(redisAdapter, stringRedisTemplate, 100, 30, CHANNEL);
+        userId = UUID.randomUUID();
+        subscription = new Subscription();
+        when(redisAdapter.putIfNewer(any(), any(), anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void getActiveSubscription_shouldHitRedisOnlyOnceForRepeatedReads() {
+        when(redisAdapter.getActiveSubscription(userId)).thenReturn(Optional.of(subscription));
+
+        assertThat(nearCache.getActiveSubscription(userId)).contains(subscription);
+        assertThat(nearCache.getActiveSubscription(userId)).contains(subscription);
+
+        verify(redisAdapter, times(1)).getActiveSubscription(userId);
+    }
+
+    @Test
+    void getActiveSubscription_shouldCacheAbsenceUntilSubscriptionIsCreated() {
+        when(redisAdapter.getActiveSubscription(userId)).thenReturn(Optional.empty());
+
+        assertThat(nearCache.getActiveSubscription(userId)).isEmpty();
+        assertThat(nearCache.getActiveSubscription(userId)).isEmpty();
+        verify(redisAdapter, times(1)).getActiveSubscription(userId);
+
+        nearCache.putActiveSubscription(userId, subscription, 3600);
+        assertThat(nearCache.getActiveSubscription(userId)).contains(subscription);
+    }
+
+    @Test
+    void putActiveSubscription_shouldWriteThroughAndBroadcastInvalidation() {
+        nearCache.putActiveSubscription(userId, subscription, 3600);
+
+        verify(redisAdapter).putIfNewer(userId, subscription, 3600);
+        verify(stringRedisTemplate).convertAndSend(eq(CHANNEL), contains(userId.toString()));
+        assertThat(nearCache.getActiveSubscription(userId)).contains(subscription);
+        verify(redisAdapter, never()).getActiveSubscription(userId);
+    }
+
+    @Test
+    void putActiveSubscription_shouldDropLocalEntryWhenRedisRejectsStaleWrite() {
+        Subscription newer = new Subscription();
+        when(redisAdapter.getActiveSubscription(userId)).thenReturn(Optional.of(newer));
+        nearCache.getActiveSubscription(userId);
+        when(redisAdapter.putIfNewer(userId, subscription, 3600)).thenReturn(false);
+
+        nearCache.putActiveSubscription(userId, subscription, 3600);
+
+        assertThat(nearCache.getActiveSubscription(userId)).contains(newer);
+        verify(redisAdapter, times(2)).getActiveSubscription(userId);
+        verify(stringRedisTemplate).convertAndSend(eq(CHANNEL), contains(userId.toString()));
+    }
+
+    @Test
+    void putActiveSubscriptions_shouldWriteThroughOnceAndBroadcastInOnePipeline() {
+        subscription.setUser(new User(userId, "Maria", "maria@globo.com"));
+        List<Subscription> subscriptions = List.of(subscription);
+        when(redisAdapter.putAllIfNewer(subscriptions, 3600)).thenReturn(Set.of(userId));
+
+        nearCache.putActiveSubscriptions(subscriptions, 3600);
+
+        verify(redisAdapter).putAllIfNewer(subscriptions, 3600);
+        verify(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+        assertThat(nearCache.getActiveSubscription(userId)).contains(subscription);
+        verify(redisAdapter, never()).getActiveSubscription(userId);
+    }
+
+    @Test
+    void putActiveSubscriptions_shouldOnlyCacheLocallyTheWritesRedisAccepted() {
+        UUID otherUserId = UUID.randomUUID();
+        subscription.setUser(new User(userId, "Maria", "maria@globo.com"));
+        Subscription stale = new Subscription();
+        stale.setUser(new User(otherUserId, "João", "joao@globo.com"));
+        List<Subscription> subscriptions = List.of(subscription, stale);
+        when(redisAdapter.putAllIfNewer(subscriptions, 3600)).thenReturn(Set.of(userId));
+        when(redisAdapter.getActiveSubscription(otherUserId)).thenReturn(Optional.empty());
+
+        nearCache.putActiveSubscriptions(subscriptions, 3600);
+
+        assertThat(nearCache.getActiveSubscription(userId)).contains(subscription);
+        assertThat(nearCache.getActiveSubscription(otherUserId)).isEmpty();
+        verify(redisAdapter, never()).getActiveSubscription(userId);
+        verify(redisAdapter).getActiveSubscription(otherUserId);
+    }
+
+    @Test
+    void removeActiveSubscription_shouldEvictLocallyAndBroadcastInvalidation() {
+        nearCache.putActiveSubscription(userId, subscription, 3600);
+        when(redisAdapter.getActiveSubscription(userId)).thenReturn(Optional.empty());
+
+        subscription.setUser(new User(userId, "Maria", "maria@globo.com"));
+
+        nearCache.removeActiveSubscription(subscription);
+
+        verify(redisAdapter).removeActiveSubscription(subscription);
+        verify(stringRedisTemplate, times(2)).convertAndSend(eq(CHANNEL), contains(userId.toString()));
+        assertThat(nearCache.getActiveSubscription(userId)).isEmpty();
+    }
+
+    @Test
+    void onMessage_shouldEvictEntryInvalidatedByAnotherNode() {
+        when(redisAdapter.getActiveSubscription(userId)).thenReturn(Optional.of(subscription));
+        nearCache.getActiveSubscription(userId);
+
+        nearCache.onMessage(message("other-node:" + userId), null);
+        nearCache.getActiveSubscription(userId);
+
+        verify(redisAdapter, times(2)).getActiveSubscription(userId);
+    }
+
+    @Test
+    void onMessage_shouldIgnoreOwnInvalidations() {
+        nearCache.putActiveSubscription(userId, subscription, 3600);
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(anyString(), captor.capture());
+
+        nearCache.onMessage(message(captor.getValue()), null);
+
+        assertThat(nearCache.getActiveSubscription(userId)).contains(subscription);
+        verify(redisAdapter, never()).getActiveSubscription(userId);
+    }
+
+    @Test
+    void getActiveSubscription_shouldNotKeepAReadThatRacedWithAnInvalidation() {
+        when(redisAdapter.getActiveSubscription(userId)).thenAnswer(invocation -> {
+            // Another node changes the subscription while this read is in flight
+            nearCache.onMessage(message("other-node:" + userId), null);
+            return Optional.of(subscription);
+        });
+
+        nearCache.getActiveSubscription(userId);
+        nearCache.getActiveSubscription(userId);
+
+        verify(redisAdapter, times(2)).getActiveSubscription(userId);
+    }
+
+    @Test
+    void getActiveSubscriptions_shouldNotKeepAReadThatRacedWithAnInvalidation() {
+        when(redisAdapter.getActiveSubscriptions(List.of(userId))).thenAnswer(invocation -> {
+            nearCache.onMessage(message("other-node:" + userId), null);
+            return Map.of(userId, subscription);
+        });
+
+        nearCache.getActiveSubscriptions(List.of(userId));
+        nearCache.getActiveSubscriptions(List.of(userId));
+
+        verify(redisAdapter, times(2)).getActiveSubscriptions(List.of(userId));
+    }
+
+    @Test
+    void getActiveSubscription_shouldHandOutCopiesOfTheCachedSubscription() {
+        subscription.setUser(new User(userId, "Maria", "maria@globo.com"));
+        nearCache.putActiveSubscription(userId, subscription, 3600);
+
+        Subscription first = nearCache.getActiveSubscription(userId).orElseThrow();
+        first.setPlan(TypePlan.FAMILY);
+        first.getUser().setName("Changed");
+        subscription.setStatus(SubscriptionStatus.CANCELED);
+
+        Subscription second = nearCache.getActiveSubscription(userId).orElseThrow();
+        assertThat(second).isNotSameAs(first).isNotSameAs(subscription);
+        assertThat(second.getPlan()).isNull();
+        assertThat(second.getStatus()).isNull();
+        assertThat(second.getUser().getName()).isEqualTo("Maria");
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void getActiveSubscriptions_shouldOnlyAskRedisForUsersMissingLocally() {
+        UUID otherUserId = UUID.randomUUID();
+        nearCache.putActiveSubscription(userId, subscription, 3600);
+        when(redisAdapter.getActiveSubscriptions(List.of(otherUserId))).thenReturn(Map.of());
+
+        Map<UUID, Subscription> result = nearCache.getActiveSubscriptions(List.of(userId, otherUserId));
+
+        assertThat(result).containsOnly(Map.entry(userId, subscription));
+        verify(redisAdapter).getActiveSubscriptions(List.of(otherUserId));
+        assertThat(nearCache.getActiveSubscription(otherUserId)).isEmpty();
+        verify(redisAdapter, never()).getActiveSubscription(otherUserId);
+    }
+}
@@ -1,33 +1,49 @@
 package com.globo.subscription.adapter.integration.redis;
 
+import com.globo.subscription.adapter.integration.redis.dto.ActiveSubscriptionCacheEntry;
+import com.globo.subscription.adapter.integration.redis.store.ActiveSubscriptionStore;
+import com.globo.subscription.adapter.integration.redis.store.CacheVersion;
 import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.SubscriptionEntitlement;
+import com.globo.subscription.core.domain.enums.SubscriptionStatus;
+import com.globo.subscription.core.domain.enums.TypePlan;
+import com.globo.subscription.core.domain.User;
 import com.globo.subscription.core.port.out.subscription.SubscriptionRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 class ActiveSubscriptionRedisAdapterTest {
 
     @Mock
-    private RedisTemplate<String, Object> redisTemplate;
-    @Mock
-    private ValueOperations<String, Object> valueOperations;
+    private ActiveSubscriptionStore activeSubscriptionStore;
     @Mock
     private SubscriptionRepositoryPort subscriptionRepositoryPort;
-    @InjectMocks
     private ActiveSubscriptionRedisAdapter adapter;
 
     private UUID userId;
@@ -36,21 +52,53 @@ class ActiveSubscriptionRedisAdapterTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        adapter = new ActiveSubscriptionRedisAdapter(activeSubscriptionStore, subscriptionRepositoryPort);
         userId = UUID.randomUUID();
         subscription = new Subscription();
     }
 
     @Test
     void putActiveSubscription_shouldStoreInRedis() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
         adapter.putActiveSubscription(userId, subscription, 3600);
-        verify(valueOperations).set(eq("active-subscription:" + userId), eq(subscription), eq(3600L), eq(java.util.concurrent.TimeUnit.SECONDS));
+        verify(activeSubscriptionStore).put(eq(userId), argThat(cachedSubscription(subscription)), any(), eq(3600L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void putActiveSubscriptions_shouldWriteAllUsersInOneCall() {
+        Subscription other = new Subscription();
+        subscription.setUser(User.builder().id(userId).build());
+        UUID otherUserId = UUID.randomUUID();
+        other.setUser(User.builder().id(otherUserId).build());
+
+        adapter.putActiveSubscriptions(List.of(subscription, other), 3600);
+
+        verify(activeSubscriptionStore).putAll(argThat((Map<UUID, ActiveSubscriptionCacheEntry> entries) ->
+                entries.size() == 2
+                        && entries.get(userId).getSubscription() == subscription
+                        && entries.get(otherUserId).getSubscription() == other), eq(3600L), anyLong());
+    }
+
+    @Test
+    void putAllIfNewer_shouldReturnOnlyTheUsersWhoseWriteWasAccepted() {
+        Subscription other = new Subscription();
+        subscription.setUser(User.builder().id(userId).build());
+        other.setUser(User.builder().id(UUID.randomUUID()).build());
+        when(activeSubscriptionStore.putAll(any(), anyLong(), anyLong())).thenReturn(Set.of(userId));
+
+        assertThat(adapter.putAllIfNewer(List.of(subscription, other), 3600)).containsExactly(userId);
+    }
+
+    @Test
+    void putIfNewer_shouldReportRejectedStaleWrite() {
+        when(activeSubscriptionStore.put(eq(userId), any(), any(), anyLong())).thenReturn(false);
+
+        assertThat(adapter.putIfNewer(userId, subscription, 3600)).isFalse();
     }
 
     @Test
     void getActiveSubscription_shouldReturnFromRedisIfExists() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("active-subscription:" + userId)).thenReturn(subscription);
+        when(activeSubscriptionStore.get(userId)).thenReturn(entry(subscription, 3_600_000, 0));
         Optional<Subscription> result = adapter.getActiveSubscription(userId);
         assertThat(result).isPresent().contains(subscription);
         verify(subscriptionRepositoryPort, never()).findActiveByUserId(any());
@@ -58,28 +106,172 @@ class ActiveSubscriptionRedisAdapterTest {
 
     @Test
     void getActiveSubscription_shouldQueryDbAndCacheIfNotInRedis() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("active-subscription:" + userId)).thenReturn(null);
+        when(activeSubscriptionStore.get(userId)).thenReturn(null);
         when(subscriptionRepositoryPort.findActiveByUserId(userId)).thenReturn(Optional.of(subscription));
-        doNothing().when(valueOperations).set(any(), any(), anyLong(), any());
         Optional<Subscription> result = adapter.getActiveSubscription(userId);
         assertThat(result).isPresent().contains(subscription);
         verify(subscriptionRepositoryPort).findActiveByUserId(userId);
-        verify(valueOperations).set(eq("active-subscription:" + userId), eq(subscription), anyLong(), eq(java.util.concurrent.TimeUnit.SECONDS));
+        verify(activeSubscriptionStore).put(eq(userId), argThat(cachedSubscription(subscription)), any(), anyLong());
     }
 
     @Test
     void getActiveSubscription_shouldReturnEmptyIfNotInRedisOrDb() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("active-subscription:" + userId)).thenReturn(null);
+        when(activeSubscriptionStore.get(userId)).thenReturn(null);
+        when(subscriptionRepositoryPort.findActiveByUserId(userId)).thenReturn(Optional.empty());
+        Optional<Subscription> result = adapter.getActiveSubscription(userId);
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void getActiveSubscription_shouldStoreTombstoneWithNegativeTtlWhenNotInDb() {
+        ReflectionTestUtils.setField(adapter, "negativeTtlSeconds", 60L);
+        when(activeSubscriptionStore.get(userId)).thenReturn(null);
         when(subscriptionRepositoryPort.findActiveByUserId(userId)).thenReturn(Optional.empty());
+
+        adapter.getActiveSubscription(userId);
+
+        verify(activeSubscriptionStore).put(eq(userId), argThat(cachedSubscription(null)), any(), eq(60L));
+    }
+
+    @Test
+    void getActiveSubscription_shouldServeTombstoneWithoutQueryingDb() {
+        when(activeSubscriptionStore.get(userId)).thenReturn(entry(null, 60_000, 0));
+
         Optional<Subscription> result = adapter.getActiveSubscription(userId);
+
         assertThat(result).isEmpty();
+        verify(subscriptionRepositoryPort, never()).findActiveByUserId(any());
+    }
+
+    @Test
+    void removeActiveSubscription_shouldWriteTombstoneStampedWithRemovedVersion() {
+        ReflectionTestUtils.setField(adapter, "negativeTtlSeconds", 60L);
+        subscription.setId(UUID.randomUUID());
+        subscription.setUser(new User(userId, "Maria", "maria@globo.com"));
+        subscription.setVersion(4L);
+
+        adapter.removeActiveSubscription(subscription);
+
+        verify(activeSubscriptionStore).put(eq(userId), argThat(cachedSubscription(null)), eq(new CacheVersion(subscription.getId(), 4L, 0L)), eq(60L));
+    }
+
+    @Test
+    void putActiveSubscription_shouldStampWriteWithRowVersionAndUpdateTime() {
+        subscription.setId(UUID.randomUUID());
+        subscription.setVersion(3L);
+        subscription.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 0, 0));
+
+        adapter.putActiveSubscription(userId, subscription, 3600);
+
+        verify(activeSubscriptionStore).put(eq(userId), argThat(cachedSubscription(subscription)),
+                eq(new CacheVersion(subscription.getId(), 3L, 1_767_225_600_000L)), eq(3600L));
+    }
+
+    @Test
+    void getActiveSubscription_shouldWriteUnstampedTombstoneWhenNotInDb() {
+        when(activeSubscriptionStore.get(userId)).thenReturn(null);
+        when(subscriptionRepositoryPort.findActiveByUserId(userId)).thenReturn(Optional.empty());
+
+        adapter.getActiveSubscription(userId);
+
+        verify(activeSubscriptionStore).put(eq(userId), argThat(cachedSubscription(null)), isNull(), anyLong());
+    }
+
+    @Test
+    void getActiveSubscription_shouldReloadEntryAboutToExpire() {
+        ReflectionTestUtils.setField(adapter, "ttlSeconds", 3600L);
+        ReflectionTestUtils.setField(adapter, "earlyRefreshBeta", 1.0);
+        Subscription refreshed = new Subscription();
+        when(activeSubscriptionStore.get(userId)).thenReturn(entry(subscription, -1, 60_000));
+        when(subscriptionRepositoryPort.findActiveByUserId(userId)).thenReturn(Optional.of(refreshed));
+
+        Optional<Subscription> result = adapter.getActiveSubscription(userId);
+
+        assertThat(result).contains(refreshed);
+        verify(activeSubscriptionStore).put(eq(userId), argThat(cachedSubscription(refreshed)), any(), eq(3600L));
+    }
+
+    @Test
+    void getActiveSubscription_shouldCoalesceConcurrentMissesIntoOneQuery() throws Exception {
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(activeSubscriptionStore.get(userId)).thenReturn(null);
+        when(subscriptionRepositoryPort.findActiveByUserId(userId)).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(5, TimeUnit.SECONDS);
+            return Optional.of(subscription);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Optional<Subscription>> leader = executor.submit(() -> adapter.getActiveSubscription(userId));
+            assertThat(queryStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            List<Future<Optional<Subscription>>> followers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                followers.add(executor.submit(() -> adapter.getActiveSubscription(userId)));
+            }
+            awaitWaitingCallers(3);
+            releaseQuery.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).contains(subscription);
+            for (Future<Optional<Subscription>> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).contains(subscription);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(subscriptionRepositoryPort, times(1)).findActiveByUserId(userId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void awaitWaitingCallers(int expected) throws InterruptedException {
+        Map<UUID, CompletableFuture<?>> inFlightLoads = (Map<UUID, CompletableFuture<?>>) ReflectionTestUtils.getField(adapter, "inFlightLoads");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (inFlightLoads.get(userId).getNumberOfDependents() < expected) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private ActiveSubscriptionCacheEntry entry(Subscription value, long expiresInMillis, long loadMillis) {
+        return new ActiveSubscriptionCacheEntry(value, System.currentTimeMillis() + expiresInMillis, loadMillis);
+    }
+
+    private ArgumentMatcher<ActiveSubscriptionCacheEntry> cachedSubscription(Subscription expected) {
+        return entry -> entry != null && entry.getSubscription() == expected;
     }
 
     @Test
-    void removeActiveSubscription_shouldDeleteFromRedis() {
-        adapter.removeActiveSubscription(userId);
-        verify(redisTemplate).delete("active-subscription:" + userId);
+    void getActiveSubscriptions_shouldUseOneMultiGetAndOneQueryForMisses() {
+        UUID cachedUserId = UUID.randomUUID();
+        UUID tombstoneUserId = UUID.randomUUID();
+        UUID missingUserId = UUID.randomUUID();
+        Subscription cached = new Subscription();
+        User user = new User();
+        user.setId(userId);
+        subscription.setUser(user);
+        when(activeSubscriptionStore.getAll(List.of(cachedUserId, tombstoneUserId, userId, missingUserId)))
+                .thenReturn(Arrays.asList(entry(cached, 60_000, 0), entry(null, 60_000, 0), null, null));
+        when(subscriptionRepositoryPort.findActiveByUserIds(List.of(userId, missingUserId))).thenReturn(List.of(subscription));
+
+        Map<UUID, Subscription> result = adapter.getActiveSubscriptions(List.of(cachedUserId, tombstoneUserId, userId, missingUserId));
+
+        assertThat(result).containsOnly(Map.entry(cachedUserId, cached), Map.entry(userId, subscription));
+        verify(subscriptionRepositoryPort, times(1)).findActiveByUserIds(any());
+        verify(subscriptionRepositoryPort, never()).findActiveByUserId(any());
+        verify(activeSubscriptionStore).putAll(argThat(entries -> entries.keySet().equals(Set.of(userId, missingUserId))), anyLong(), anyLong());
+    }
+
+    @Test
+    void getEntitlement_shouldProjectCachedSubscription() {
+        subscription.setPlan(TypePlan.PREMIUM);
+        subscription.setStatus(SubscriptionStatus.ACTIVE);
+        when(activeSubscriptionStore.getEntitlement(userId)).thenReturn(entry(subscription, 3_600_000, 0));
+
+        Optional<SubscriptionEntitlement> result = adapter.getEntitlement(userId);
+
+        assertThat(result).contains(SubscriptionEntitlement.from(subscription));
+        verify(subscriptionRepositoryPort, never()).findActiveByUserId(any());
     }
 }
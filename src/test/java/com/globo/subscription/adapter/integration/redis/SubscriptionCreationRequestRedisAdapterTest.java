@@ -0,0 +1,80 @@
+package com.globo.subscription.adapter.integration.redis;
+
+import com.globo.subscription.core.domain.SubscriptionCreationRequest;
+import com.globo.subscription.core.domain.enums.SubscriptionRequestStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SubscriptionCreationRequestRedisAdapterTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private SubscriptionCreationRequestRedisAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        adapter = new SubscriptionCreationRequestRedisAdapter(stringRedisTemplate);
+        when(stringRedisTemplate.opsForHash()).thenReturn(hashOperations);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void save_shouldRoundTripCompletedRequest() {
+        SubscriptionCreationRequest request = SubscriptionCreationRequest.processing(UUID.randomUUID())
+                .completed(UUID.randomUUID());
+        String key = "subscription-creation-request:" + request.id();
+
+        adapter.save(request, 600);
+
+        ArgumentCaptor<Map<String, String>> fields = ArgumentCaptor.forClass(Map.class);
+        verify(hashOperations).putAll(eq(key), fields.capture());
+        verify(stringRedisTemplate).expire(key, Duration.ofSeconds(600));
+
+        when(hashOperations.entries(key)).thenReturn(new HashMap<>(fields.getValue()));
+        assertThat(adapter.findById(request.id())).contains(request);
+    }
+
+    @Test
+    void findById_shouldReadFailedRequestWithoutSubscriptionId() {
+        UUID requestId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        Map<Object, Object> fields = new HashMap<>();
+        fields.put(SubscriptionCreationRequestRedisAdapter.USER_ID, userId.toString());
+        fields.put(SubscriptionCreationRequestRedisAdapter.STATUS, "FAILED");
+        fields.put(SubscriptionCreationRequestRedisAdapter.ERROR, "Saldo insuficiente");
+        when(hashOperations.entries("subscription-creation-request:" + requestId)).thenReturn(fields);
+
+        Optional<SubscriptionCreationRequest> request = adapter.findById(requestId);
+
+        assertThat(request).contains(new SubscriptionCreationRequest(
+                requestId, userId, SubscriptionRequestStatus.FAILED, null, "Saldo insuficiente"));
+    }
+
+    @Test
+    void findById_shouldBeEmptyWhenRequestExpired() {
+        UUID requestId = UUID.randomUUID();
+        when(hashOperations.entries("subscription-creation-request:" + requestId)).thenReturn(Map.of());
+
+        assertThat(adapter.findById(requestId)).isEmpty();
+    }
+}
@@ -0,0 +1,111 @@
+package com.globo.subscription.adapter.integration.redis.codec;
+
+import com.globo.subscription.adapter.integration.redis.dto.ActiveSubscriptionCacheEntry;
+import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.User;
+import com.globo.subscription.core.domain.enums.SubscriptionStatus;
+import com.globo.subscription.core.domain.enums.TypePlan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActiveSubscriptionBinaryCodecTest {
+
+    private final ActiveSubscriptionBinaryCodec codec = new ActiveSubscriptionBinaryCodec();
+    private ActiveSubscriptionCacheEntry entry;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder().id(UUID.randomUUID()).name("Maria Silva").email("maria@globo.com").build();
+        Subscription subscription = Subscription.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .plan(TypePlan.PREMIUM)
+                .startDate(LocalDate.of(2026, 1, 10))
+                .expirationDate(LocalDate.of(2026, 2, 10))
+                .updatedAt(LocalDateTime.of(2026, 1, 10, 12, 30, 15, 123_456_789))
+                .status(SubscriptionStatus.ACTIVE)
+                .renewalAttempts(1)
+                .version(7L)
+                .build();
+        entry = new ActiveSubscriptionCacheEntry(subscription, 1_800_000_000_000L, 12);
+    }
+
+    @Test
+    void shouldRoundTripFullEntry() {
+        ActiveSubscriptionCacheEntry decoded = codec.deserialize(codec.serialize(entry));
+
+        assertThat(decoded).isEqualTo(entry);
+    }
+
+    @Test
+    void shouldRoundTripTombstoneInNineteenBytes() {
+        ActiveSubscriptionCacheEntry tombstone = new ActiveSubscriptionCacheEntry(null, 1_800_000_000_000L, 3);
+
+        byte[] bytes = codec.serialize(tombstone);
+
+        assertThat(bytes).hasSize(19);
+        assertThat(codec.deserialize(bytes)).isEqualTo(tombstone);
+    }
+
+    @Test
+    void shouldRoundTripEntryWithMissingFields() {
+        entry.getSubscription().setUser(null);
+        entry.getSubscription().setUpdatedAt(null);
+        entry.getSubscription().setRenewalAttempts(null);
+
+        assertThat(codec.deserialize(codec.serialize(entry))).isEqualTo(entry);
+    }
+
+    @Test
+    void shouldTreatUnknownVersionAsMiss() {
+        byte[] bytes = codec.serialize(entry);
+        bytes[0] = ActiveSubscriptionBinaryCodec.VERSION + 1;
+
+        assertThat(codec.deserialize(bytes)).isNull();
+    }
+
+    @Test
+    void shouldRoundTripEveryPlanAndStatus() {
+        for (TypePlan plan : TypePlan.values()) {
+            for (SubscriptionStatus status : SubscriptionStatus.values()) {
+                entry.getSubscription().setPlan(plan);
+                entry.getSubscription().setStatus(status);
+
+                assertThat(codec.deserialize(codec.serialize(entry))).isEqualTo(entry);
+            }
+        }
+    }
+
+    @Test
+    void shouldTreatUnknownPlanCodeAsMiss() {
+        Subscription planOnly = Subscription.builder().plan(TypePlan.BASIC).build();
+        byte[] bytes = codec.serialize(new ActiveSubscriptionCacheEntry(planOnly, 1_800_000_000_000L, 3));
+        // Header is 19 bytes and the plan is the only field written after it
+        bytes[19] = (byte) 0xFF;
+
+        assertThat(codec.deserialize(bytes)).isNull();
+    }
+
+    @Test
+    void shouldTreatUnknownStatusCodeAsMiss() {
+        Subscription statusOnly = Subscription.builder().status(SubscriptionStatus.ACTIVE).build();
+        byte[] bytes = codec.serialize(new ActiveSubscriptionCacheEntry(statusOnly, 1_800_000_000_000L, 3));
+        bytes[19] = (byte) SubscriptionStatus.values().length;
+
+        assertThat(codec.deserialize(bytes)).isNull();
+    }
+
+    @Test
+    void shouldBeSmallerThanJsonEncoding() {
+        byte[] binary = codec.serialize(entry);
+        byte[] json = new ActiveSubscriptionJsonCodec().serialize(entry);
+
+        assertThat(binary.length).isLessThan(json.length / 3);
+    }
+}
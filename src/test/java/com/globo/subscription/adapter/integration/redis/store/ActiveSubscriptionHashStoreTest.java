@@ -0,0 +1,101 @@
+package com.globo.subscription.adapter.integration.redis.store;
+
+import com.globo.subscription.adapter.integration.redis.dto.ActiveSubscriptionCacheEntry;
+import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.User;
+import com.globo.subscription.core.domain.enums.SubscriptionStatus;
+import com.globo.subscription.core.domain.enums.TypePlan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ActiveSubscriptionHashStoreTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private ActiveSubscriptionHashStore store;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        store = new ActiveSubscriptionHashStore(stringRedisTemplate);
+        userId = UUID.randomUUID();
+        when(stringRedisTemplate.opsForHash()).thenReturn(hashOperations);
+    }
+
+    @Test
+    void hash_shouldRoundTripFullSubscription() {
+        Subscription subscription = Subscription.builder()
+                .id(UUID.randomUUID())
+                .user(new User(userId, "Maria", "maria@globo.com"))
+                .plan(TypePlan.PREMIUM)
+                .startDate(LocalDate.of(2026, 2, 15))
+                .expirationDate(LocalDate.of(2026, 3, 15))
+                .updatedAt(LocalDateTime.of(2026, 2, 15, 10, 30))
+                .status(SubscriptionStatus.ACTIVE)
+                .renewalAttempts(0)
+                .version(2L)
+                .build();
+        ActiveSubscriptionCacheEntry entry = new ActiveSubscriptionCacheEntry(subscription, 1_000L, 5L);
+
+        ActiveSubscriptionCacheEntry decoded = ActiveSubscriptionHashStore.fromHash(new HashMap<>(ActiveSubscriptionHashStore.toHash(entry)));
+
+        assertThat(decoded).isEqualTo(entry);
+    }
+
+    @Test
+    void hash_shouldRoundTripTombstone() {
+        ActiveSubscriptionCacheEntry tombstone = new ActiveSubscriptionCacheEntry(null, 1_000L, 5L);
+
+        Map<String, String> hash = ActiveSubscriptionHashStore.toHash(tombstone);
+
+        assertThat(hash).containsEntry(ActiveSubscriptionHashStore.TOMBSTONE, "1");
+        assertThat(ActiveSubscriptionHashStore.fromHash(new HashMap<>(hash))).isEqualTo(tombstone);
+    }
+
+    @Test
+    void get_shouldReturnNullForMissingHash() {
+        when(hashOperations.entries("active-subscription-hash:" + userId)).thenReturn(Map.of());
+
+        assertThat(store.get(userId)).isNull();
+    }
+
+    @Test
+    void getEntitlement_shouldReadOnlyEntitlementFields() {
+        when(hashOperations.multiGet(eq("active-subscription-hash:" + userId), anyList()))
+                .thenReturn(Arrays.asList("PREMIUM", "ACTIVE", "2026-03-15", null, "1000", "5"));
+
+        ActiveSubscriptionCacheEntry entry = store.getEntitlement(userId);
+
+        verify(hashOperations).multiGet("active-subscription-hash:" + userId, List.of(
+                ActiveSubscriptionHashStore.PLAN, ActiveSubscriptionHashStore.STATUS, ActiveSubscriptionHashStore.EXPIRATION_DATE,
+                ActiveSubscriptionHashStore.TOMBSTONE, ActiveSubscriptionHashStore.EXPIRES_AT, ActiveSubscriptionHashStore.LOAD_MILLIS));
+        verify(hashOperations, never()).entries(any());
+        assertThat(entry.getExpiresAtMillis()).isEqualTo(1_000L);
+        assertThat(entry.getSubscription().getPlan()).isEqualTo(TypePlan.PREMIUM);
+        assertThat(entry.getSubscription().getStatus()).isEqualTo(SubscriptionStatus.ACTIVE);
+        assertThat(entry.getSubscription().getExpirationDate()).isEqualTo(LocalDate.of(2026, 3, 15));
+        assertThat(entry.getSubscription().getUser()).isNull();
+    }
+}
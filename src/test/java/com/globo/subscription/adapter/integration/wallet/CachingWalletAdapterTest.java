@@ -0,0 +1,109 @@
+package com.globo.subscription.adapter.integration.wallet;
+
+import com.globo.subscription.core.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CachingWalletAdapterTest {
+
+    private static final String CHANNEL = "wallet-invalidation";
+
+    @Mock
+    private WalletAdapter walletAdapter;
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private CachingWalletAdapter adapter;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        adapter = new CachingWalletAdapter(walletAdapter, stringRedisTemplate, 1000, 86400, 30, CHANNEL);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void existsWallet_shouldCacheExistingWallet() {
+        when(walletAdapter.existsWallet(userId)).thenReturn(true);
+        assertThat(adapter.existsWallet(userId)).isTrue();
+        assertThat(adapter.existsWallet(userId)).isTrue();
+        verify(walletAdapter, times(1)).existsWallet(userId);
+    }
+
+    @Test
+    void existsWallet_shouldCacheMissingWallet() {
+        when(walletAdapter.existsWallet(userId)).thenReturn(false);
+        assertThat(adapter.existsWallet(userId)).isFalse();
+        assertThat(adapter.existsWallet(userId)).isFalse();
+        verify(walletAdapter, times(1)).existsWallet(userId);
+    }
+
+    @Test
+    void existsWallet_shouldNotCacheErrors() {
+        when(walletAdapter.existsWallet(userId))
+                .thenThrow(new BusinessException("Erro ao consultar carteira do usuário " + userId))
+                .thenReturn(true);
+        assertThatThrownBy(() -> adapter.existsWallet(userId)).isInstanceOf(BusinessException.class);
+        assertThat(adapter.existsWallet(userId)).isTrue();
+        verify(walletAdapter, times(2)).existsWallet(userId);
+    }
+
+    @Test
+    void evictWallet_shouldForceNextLookupToCallWalletService() {
+        when(walletAdapter.existsWallet(userId)).thenReturn(false, true);
+        assertThat(adapter.existsWallet(userId)).isFalse();
+        adapter.evictWallet(userId);
+        assertThat(adapter.existsWallet(userId)).isTrue();
+        verify(walletAdapter, times(2)).existsWallet(userId);
+    }
+
+    @Test
+    void evictWallet_shouldBroadcastInvalidation() {
+        adapter.evictWallet(userId);
+        verify(stringRedisTemplate).convertAndSend(eq(CHANNEL), contains(userId.toString()));
+    }
+
+    @Test
+    void onMessage_shouldEvictEntryInvalidatedByAnotherNode() {
+        when(walletAdapter.existsWallet(userId)).thenReturn(true);
+        adapter.existsWallet(userId);
+
+        adapter.onMessage(message("other-node:" + userId), null);
+        adapter.existsWallet(userId);
+
+        verify(walletAdapter, times(2)).existsWallet(userId);
+    }
+
+    @Test
+    void onMessage_shouldIgnoreOwnInvalidations() {
+        when(walletAdapter.existsWallet(userId)).thenReturn(true);
+        adapter.evictWallet(userId);
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(anyString(), captor.capture());
+        adapter.existsWallet(userId);
+
+        adapter.onMessage(message(captor.getValue()), null);
+        adapter.existsWallet(userId);
+
+        verify(walletAdapter, times(1)).existsWallet(userId);
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
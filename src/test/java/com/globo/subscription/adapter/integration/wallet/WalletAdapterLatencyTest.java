@@ -0,0 +1,197 @@
+package com.globo.subscription.adapter.integration.wallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.globo.subscription.core.exception.WalletUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.Request;
+import feign.Retryer;
+import feign.http2client.Http2Client;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the wallet adapter against a local stub server with injected latency, through the real Feign
+ * client, bulkhead and circuit breaker, and measures how long callers are held.
+ */
+class WalletAdapterLatencyTest {
+
+    private static final int READ_TIMEOUT_MS = 300;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong latencyMillis = new AtomicLong();
+    private final AtomicInteger hits = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private WalletFeignClient walletFeignClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/wallets/", exchange -> {
+            hits.incrementAndGet();
+            sleep(latencyMillis.get());
+            String userId = exchange.getRequestURI().getPath().substring("/wallets/".length());
+            byte[] body = ("{\"id\":\"" + UUID.randomUUID() + "\",\"userId\":\"" + userId + "\",\"balance\":100.00}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            } catch (IOException ignored) {
+                // the client gave up waiting
+            }
+        });
+        server.start();
+
+        walletFeignClient = Feign.builder()
+                .client(new Http2Client(HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build()))
+                .contract(new SpringMvcContract())
+                .decoder((response, type) -> objectMapper.readValue(response.body().asInputStream(),
+                        objectMapper.constructType(type)))
+                .options(new Request.Options(200, TimeUnit.MILLISECONDS, READ_TIMEOUT_MS, TimeUnit.MILLISECONDS, true))
+                .retryer(Retryer.NEVER_RETRY)
+                .target(WalletFeignClient.class, "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void existsWallet_shouldAnswerWhenWalletServiceIsFast() {
+        WalletAdapter adapter = adapter(circuitBreaker(), bulkhead(10));
+        latencyMillis.set(20);
+
+        assertThat(adapter.existsWallet(UUID.randomUUID())).isTrue();
+    }
+
+    @Test
+    void existsWallet_shouldGiveUpAtReadTimeoutWhenWalletServiceIsSlow() {
+        WalletAdapter adapter = adapter(circuitBreaker(), bulkhead(10));
+        latencyMillis.set(2000);
+
+        long elapsed = elapsedMillis(() -> assertThatThrownBy(() -> adapter.existsWallet(UUID.randomUUID()))
+                .isInstanceOf(WalletUnavailableException.class));
+
+        assertThat(elapsed).isBetween((long) READ_TIMEOUT_MS, 1000L);
+    }
+
+    @Test
+    void existsWallet_shouldFailFastOnceCircuitOpensUnderLatency() {
+        CircuitBreaker circuitBreaker = circuitBreaker();
+        WalletAdapter adapter = adapter(circuitBreaker, bulkhead(10));
+        latencyMillis.set(2000);
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> adapter.existsWallet(UUID.randomUUID()))
+                    .isInstanceOf(WalletUnavailableException.class);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        int hitsBefore = hits.get();
+
+        long elapsed = elapsedMillis(() -> assertThatThrownBy(() -> adapter.existsWallet(UUID.randomUUID()))
+                .isInstanceOf(WalletUnavailableException.class));
+
+        // The untouched hit counter is what proves the call was short-circuited; the time bound only
+        // checks it did not wait for a read timeout, with room for a slow CI machine
+        assertThat(hits.get()).isEqualTo(hitsBefore);
+        assertThat(elapsed).isLessThan(READ_TIMEOUT_MS);
+    }
+
+    @Test
+    void existsWallet_shouldRejectCallsBeyondBulkheadImmediately() throws Exception {
+        WalletAdapter adapter = adapter(circuitBreaker(), bulkhead(2));
+        latencyMillis.set(200);
+
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<Long>> calls = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                calls.add(callers.submit(() -> elapsedMillis(() -> adapter.existsWallet(UUID.randomUUID()))));
+            }
+
+            int succeeded = 0;
+            int rejected = 0;
+            for (Future<Long> call : calls) {
+                try {
+                    call.get();
+                    succeeded++;
+                } catch (Exception e) {
+                    assertThat(e.getCause()).isInstanceOf(WalletUnavailableException.class);
+                    rejected++;
+                }
+            }
+
+            assertThat(succeeded).isGreaterThanOrEqualTo(2);
+            assertThat(rejected).isPositive();
+            assertThat(hits.get()).isEqualTo(succeeded);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private WalletAdapter adapter(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        return new WalletAdapter(walletFeignClient, circuitBreaker, bulkhead);
+    }
+
+    private static CircuitBreaker circuitBreaker() {
+        return CircuitBreaker.of("wallet", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofSeconds(30))
+                .build());
+    }
+
+    private static Bulkhead bulkhead(int maxConcurrentCalls) {
+        return Bulkhead.of("wallet", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+
+    private static long elapsedMillis(Runnable call) {
+        long start = System.nanoTime();
+        call.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,12 +2,14 @@ package com.globo.subscription.adapter.integration.wallet;
 
 import com.globo.subscription.adapter.integration.wallet.dto.WalletResponse;
 import com.globo.subscription.core.exception.BusinessException;
+import com.globo.subscription.core.exception.WalletUnavailableException;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.web.client.HttpClientErrorException;
 
 import java.util.UUID;
 
@@ -19,7 +21,7 @@ class WalletAdapterTest {
 
     @Mock
     private WalletFeignClient walletFeignClient;
-    @InjectMocks
+    private CircuitBreaker circuitBreaker;
     private WalletAdapter adapter;
 
     private UUID userId;
@@ -27,6 +29,8 @@ class WalletAdapterTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        circuitBreaker = CircuitBreaker.ofDefaults("wallet");
+        adapter = new WalletAdapter(walletFeignClient, circuitBreaker, Bulkhead.ofDefaults("wallet"));
         userId = UUID.randomUUID();
     }
 
@@ -41,7 +45,7 @@ class WalletAdapterTest {
 
     @Test
     void existsWallet_shouldReturnFalseWhenWalletNotFound() {
-        when(walletFeignClient.getWallet(userId)).thenThrow(HttpClientErrorException.NotFound.class);
+        when(walletFeignClient.getWallet(userId)).thenThrow(FeignException.NotFound.class);
         boolean result = adapter.existsWallet(userId);
         assertThat(result).isFalse();
     }
@@ -54,6 +58,22 @@ class WalletAdapterTest {
                 .hasMessageContaining("Erro ao consultar carteira do usuário");
     }
 
+    @Test
+    void existsWallet_shouldNotCountMissingWalletAsFailure() {
+        when(walletFeignClient.getWallet(userId)).thenThrow(FeignException.NotFound.class);
+        adapter.existsWallet(userId);
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isZero();
+        assertThat(circuitBreaker.getMetrics().getNumberOfSuccessfulCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void existsWallet_shouldFailFastWhenCircuitIsOpen() {
+        circuitBreaker.transitionToOpenState();
+        assertThatThrownBy(() -> adapter.existsWallet(userId))
+                .isInstanceOf(WalletUnavailableException.class);
+        verify(walletFeignClient, never()).getWallet(any());
+    }
+
     @Test
     void existsWallet_shouldReturnFalseWhenResponseIsNull() {
         when(walletFeignClient.getWallet(userId)).thenReturn(null);
@@ -3,7 +3,8 @@ package com.globo.subscription.adapter.kafka;
 import com.globo.subscription.adapter.kafka.dto.CreditRefundEvent;
 import com.globo.subscription.adapter.kafka.dto.DebitAmountEvent;
 import com.globo.subscription.adapter.kafka.dto.DebitSubscriptionPlanEvent;
-import com.globo.subscription.adapter.kafka.producer.PaymentEventProducer;
+import com.globo.subscription.adapter.kafka.outbox.PaymentEventType;
+import com.globo.subscription.adapter.kafka.outbox.PaymentOutbox;
 import com.globo.subscription.core.domain.enums.TypePlan;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,7 +22,7 @@ import static org.mockito.Mockito.*;
 class PaymentKafkaAdapterTest {
 
     @Mock
-    private PaymentEventProducer paymentEventProducer;
+    private PaymentOutbox paymentOutbox;
     @InjectMocks
     private PaymentKafkaAdapter adapter;
 
@@ -39,11 +40,11 @@ class PaymentKafkaAdapterTest {
     void debitSubscriptionPlan_shouldPublishEventWithCorrectData() {
 
         adapter.debitSubscriptionPlan(userId, TypePlan.BASIC, subscriptionId);
-        ArgumentCaptor<DebitSubscriptionPlanEvent> captor = ArgumentCaptor.forClass(DebitSubscriptionPlanEvent.class);
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
 
-        verify(paymentEventProducer).sendDebitSubscriptionPlanEvent(captor.capture());
+        verify(paymentOutbox).enqueue(eq(PaymentEventType.DEBIT_SUBSCRIPTION_PLAN), eq(userId.toString()), captor.capture());
 
-        DebitSubscriptionPlanEvent event = captor.getValue();
+        DebitSubscriptionPlanEvent event = (DebitSubscriptionPlanEvent) captor.getValue();
 
         assertThat(event.getUserId()).isEqualTo(userId);
         assertThat(event.getPlan()).isEqualTo(TypePlan.BASIC);
@@ -57,11 +58,11 @@ class PaymentKafkaAdapterTest {
         String description = "Debito de upgrade";
 
         adapter.debitAmount(userId, amount, description, subscriptionId);
-        ArgumentCaptor<DebitAmountEvent> captor = ArgumentCaptor.forClass(DebitAmountEvent.class);
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
 
-        verify(paymentEventProducer).sendDebitAmountEvent(captor.capture());
+        verify(paymentOutbox).enqueue(eq(PaymentEventType.DEBIT_AMOUNT), eq(userId.toString()), captor.capture());
 
-        DebitAmountEvent event = captor.getValue();
+        DebitAmountEvent event = (DebitAmountEvent) captor.getValue();
         assertThat(event.getUserId()).isEqualTo(userId);
         assertThat(event.getAmount()).isEqualTo(amount);
         assertThat(event.getDescription()).isEqualTo(description);
@@ -74,10 +75,10 @@ class PaymentKafkaAdapterTest {
         String description = "Estorno de downgrade";
         adapter.creditRefund(userId, amount, description, subscriptionId);
 
-        ArgumentCaptor<CreditRefundEvent> captor = ArgumentCaptor.forClass(CreditRefundEvent.class);
-        verify(paymentEventProducer).sendCreditRefundEvent(captor.capture());
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(paymentOutbox).enqueue(eq(PaymentEventType.CREDIT_REFUND), eq(userId.toString()), captor.capture());
 
-        CreditRefundEvent event = captor.getValue();
+        CreditRefundEvent event = (CreditRefundEvent) captor.getValue();
 
         assertThat(event.getUserId()).isEqualTo(userId);
         assertThat(event.getAmount()).isEqualTo(amount);
@@ -0,0 +1,205 @@
+package com.globo.subscription.adapter.kafka.consumer;
+
+import com.globo.subscription.adapter.kafka.dto.PaymentResultEvent;
+import com.globo.subscription.adapter.kafka.dto.PaymentResultStatus;
+import com.globo.subscription.application.config.KafkaConsumerConfig;
+import com.globo.subscription.core.domain.PaymentResult;
+import com.globo.subscription.core.exception.ActiveSubscriptionAlreadyExistsException;
+import com.globo.subscription.core.port.in.subscription.ApplyPaymentResultsPort;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link PaymentResultConsumer} in a real listener container against an embedded broker, with
+ * the error handler of {@link KafkaConsumerConfig}, to check what is committed when a batch fails.
+ */
+class PaymentResultConsumerRetryTest {
+
+    private static final String RETRY_TOPIC = "payment-result-retry-test";
+    private static final String CONFLICT_TOPIC = "payment-result-conflict-test";
+    private static final String DEAD_LETTER_TOPIC = "payment-result-test-dlt";
+
+    private static EmbeddedKafkaKraftBroker broker;
+
+    private final List<List<PaymentResult>> deliveries = new CopyOnWriteArrayList<>();
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private KafkaMessageListenerContainer<String, String> container;
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, 1, RETRY_TOPIC, CONFLICT_TOPIC, DEAD_LETTER_TOPIC);
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (container != null) {
+            container.stop();
+        }
+        if (kafkaTemplate != null) {
+            kafkaTemplate.destroy();
+        }
+    }
+
+    @Test
+    void failedBatch_shouldBeRedeliveredWithoutCommittingUntilApplied() throws Exception {
+        String group = "retry-" + UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        send(RETRY_TOPIC, userId, first, second);
+        AtomicBoolean databaseUp = new AtomicBoolean(false);
+        start(RETRY_TOPIC, group, results -> {
+            deliveries.add(results);
+            if (!databaseUp.get()) {
+                throw new DataAccessResourceFailureException("database down");
+            }
+        });
+
+        awaitDeliveries(3);
+        assertThat(committedOffset(RETRY_TOPIC, group)).isNull();
+
+        databaseUp.set(true);
+        awaitCommittedOffset(RETRY_TOPIC, group, 2);
+
+        List<PaymentResult> batch = List.of(new PaymentResult(first, userId, true), new PaymentResult(second, userId, true));
+        assertThat(deliveries).hasSizeGreaterThanOrEqualTo(4).allSatisfy(delivery -> assertThat(delivery).isEqualTo(batch));
+    }
+
+    @Test
+    void resultThatCannotBeApplied_shouldGoToDeadLetterTopicAndTheRestBeCommitted() throws Exception {
+        String group = "dlt-" + UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID applicable = UUID.randomUUID();
+        UUID conflicting = UUID.randomUUID();
+        send(CONFLICT_TOPIC, userId, applicable, conflicting);
+        start(CONFLICT_TOPIC, group, results -> {
+            deliveries.add(results);
+            if (results.stream().anyMatch(result -> result.subscriptionId().equals(conflicting))) {
+                throw new ActiveSubscriptionAlreadyExistsException("Usuário " + userId + " já possui uma assinatura ativa.");
+            }
+        });
+
+        awaitCommittedOffset(CONFLICT_TOPIC, group, 2);
+
+        assertThat(deliveries).contains(List.of(new PaymentResult(applicable, userId, true)));
+        try (var deadLetters = new DefaultKafkaConsumerFactory<>(consumerProps("dlt-reader-" + UUID.randomUUID()),
+                new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            deadLetters.subscribe(List.of(DEAD_LETTER_TOPIC));
+            ConsumerRecord<String, String> deadLetter = KafkaTestUtils.getSingleRecord(deadLetters, DEAD_LETTER_TOPIC, Duration.ofSeconds(10));
+            assertThat(deadLetter.value()).startsWith(conflicting.toString());
+        }
+    }
+
+    private void start(String topic, String group, ApplyPaymentResultsPort applyPaymentResultsPort) {
+        KafkaConsumerConfig config = new KafkaConsumerConfig();
+        ReflectionTestUtils.setField(config, "paymentResultDeadLetterTopic", DEAD_LETTER_TOPIC);
+        ReflectionTestUtils.setField(config, "retryBackoffMillis", 50L);
+        ReflectionTestUtils.setField(config, "maxRetryBackoffMillis", 200L);
+        CommonErrorHandler errorHandler = config.paymentResultErrorHandler(kafkaTemplate);
+
+        PaymentResultConsumer consumer = new PaymentResultConsumer(applyPaymentResultsPort);
+        ContainerProperties properties = new ContainerProperties(topic);
+        properties.setMessageListener((BatchMessageListener<String, String>) records ->
+                consumer.consume(records.stream().map(PaymentResultConsumerRetryTest::toEvent).toList()));
+        container = new KafkaMessageListenerContainer<>(new DefaultKafkaConsumerFactory<>(consumerProps(group),
+                new StringDeserializer(), new StringDeserializer()), properties);
+        container.setCommonErrorHandler(errorHandler);
+        container.start();
+    }
+
+    private void send(String topic, UUID userId, UUID... subscriptionIds) throws Exception {
+        for (UUID subscriptionId : subscriptionIds) {
+            kafkaTemplate.send(topic, userId.toString(), subscriptionId + ":" + PaymentResultStatus.APPROVED).get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private Map<String, Object> consumerProps(String group) {
+        return Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ConsumerConfig.GROUP_ID_CONFIG, group,
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    }
+
+    private static ConsumerRecord<String, PaymentResultEvent> toEvent(ConsumerRecord<String, String> record) {
+        String[] parts = record.value().split(":");
+        PaymentResultEvent event = PaymentResultEvent.builder()
+                .userId(UUID.fromString(record.key()))
+                .subscriptionId(UUID.fromString(parts[0]))
+                .status(PaymentResultStatus.valueOf(parts[1]))
+                .build();
+        return new ConsumerRecord<>(record.topic(), record.partition(), record.offset(), record.key(), event);
+    }
+
+    private void awaitDeliveries(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (deliveries.size() < count) {
+            assertThat(System.nanoTime()).as("batch delivered %d times", count).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private void awaitCommittedOffset(String topic, String group, long offset) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        OffsetAndMetadata committed = committedOffset(topic, group);
+        while (committed == null || committed.offset() < offset) {
+            assertThat(System.nanoTime()).as("offset %d committed", offset).isLessThan(deadline);
+            Thread.sleep(50);
+            committed = committedOffset(topic, group);
+        }
+        assertThat(committed.offset()).isEqualTo(offset);
+    }
+
+    private OffsetAndMetadata committedOffset(String topic, String group) throws Exception {
+        try (Admin admin = Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()))) {
+            return admin.listConsumerGroupOffsets(group).partitionsToOffsetAndMetadata().get(10, TimeUnit.SECONDS)
+                    .get(new TopicPartition(topic, 0));
+        }
+    }
+}
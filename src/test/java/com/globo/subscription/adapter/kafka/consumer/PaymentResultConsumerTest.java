@@ -0,0 +1,120 @@
+package com.globo.subscription.adapter.kafka.consumer;
+
+import com.globo.subscription.adapter.kafka.dto.PaymentResultEvent;
+import com.globo.subscription.adapter.kafka.dto.PaymentResultStatus;
+import com.globo.subscription.core.domain.PaymentResult;
+import com.globo.subscription.core.exception.ActiveSubscriptionAlreadyExistsException;
+import com.globo.subscription.core.port.in.subscription.ApplyPaymentResultsPort;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentResultConsumerTest {
+
+    private static final String TOPIC = "payment-result-test";
+
+    @Mock
+    private ApplyPaymentResultsPort applyPaymentResultsPort;
+    @InjectMocks
+    private PaymentResultConsumer consumer;
+
+    @Test
+    void consume_shouldApplyWholePollInOneCallKeepingOrder() {
+        UUID userId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        consumer.consume(List.of(
+                record(0, userId, event(userId, first, PaymentResultStatus.APPROVED)),
+                record(1, userId, event(userId, second, PaymentResultStatus.DECLINED))));
+
+        verify(applyPaymentResultsPort).execute(List.of(
+                new PaymentResult(first, userId, true),
+                new PaymentResult(second, userId, false)));
+    }
+
+    @Test
+    void consume_shouldSkipUnreadableRecords() {
+        UUID userId = UUID.randomUUID();
+        UUID subscriptionId = UUID.randomUUID();
+
+        consumer.consume(List.of(
+                record(0, userId, null),
+                record(1, userId, event(userId, subscriptionId, PaymentResultStatus.APPROVED))));
+
+        verify(applyPaymentResultsPort).execute(List.of(new PaymentResult(subscriptionId, userId, true)));
+    }
+
+    @Test
+    void consume_shouldNotCallUseCaseWhenNothingIsReadable() {
+        consumer.consume(List.of(record(0, UUID.randomUUID(), null)));
+
+        verifyNoInteractions(applyPaymentResultsPort);
+    }
+
+    @Test
+    void consume_shouldReportIndexOfTheResultThatCannotBeApplied() {
+        UUID userId = UUID.randomUUID();
+        UUID applicable = UUID.randomUUID();
+        UUID conflicting = UUID.randomUUID();
+        PaymentResult first = new PaymentResult(applicable, userId, true);
+        PaymentResult second = new PaymentResult(conflicting, userId, true);
+        ActiveSubscriptionAlreadyExistsException conflict = new ActiveSubscriptionAlreadyExistsException("conflict");
+        doThrow(conflict).when(applyPaymentResultsPort).execute(argThat(results -> results.contains(second)));
+
+        assertThatThrownBy(() -> consumer.consume(List.of(
+                record(0, userId, null),
+                record(1, userId, event(userId, applicable, PaymentResultStatus.APPROVED)),
+                record(2, userId, event(userId, conflicting, PaymentResultStatus.APPROVED)))))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, e -> {
+                    assertThat(e.getIndex()).isEqualTo(2);
+                    assertThat(e.getCause()).isSameAs(conflict);
+                });
+
+        verify(applyPaymentResultsPort).execute(List.of(first));
+    }
+
+    @Test
+    void consume_shouldPropagateInfrastructureFailuresSoTheBatchIsRetried() {
+        UUID userId = UUID.randomUUID();
+        UUID subscriptionId = UUID.randomUUID();
+        doThrow(new DataAccessResourceFailureException("database down"))
+                .when(applyPaymentResultsPort).execute(any());
+
+        assertThatThrownBy(() -> consumer.consume(List.of(
+                record(0, userId, event(userId, subscriptionId, PaymentResultStatus.APPROVED)))))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        verify(applyPaymentResultsPort, times(1)).execute(any());
+    }
+
+    private static ConsumerRecord<String, PaymentResultEvent> record(long offset, UUID userId, PaymentResultEvent event) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, userId.toString(), event);
+    }
+
+    private static PaymentResultEvent event(UUID userId, UUID subscriptionId, PaymentResultStatus status) {
+        return PaymentResultEvent.builder()
+                .userId(userId)
+                .subscriptionId(subscriptionId)
+                .status(status)
+                .build();
+    }
+}
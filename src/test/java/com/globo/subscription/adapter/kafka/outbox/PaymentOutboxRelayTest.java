@@ -0,0 +1,182 @@
+package com.globo.subscription.adapter.kafka.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.globo.subscription.adapter.datasource.database.entity.PaymentOutboxEntity;
+import com.globo.subscription.adapter.datasource.database.repository.outbox.PaymentOutboxRepository;
+import com.globo.subscription.adapter.kafka.dto.DebitAmountEvent;
+import com.globo.subscription.adapter.kafka.dto.DebitSubscriptionPlanEvent;
+import com.globo.subscription.adapter.kafka.producer.PaymentEventProducer;
+import com.globo.subscription.core.domain.enums.TypePlan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PaymentOutboxRelayTest {
+
+    @Mock
+    private PaymentOutboxRepository paymentOutboxRepository;
+    @Mock
+    private PaymentEventProducer paymentEventProducer;
+
+    private PaymentOutboxRelay relay;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        relay = new PaymentOutboxRelay(paymentOutboxRepository, paymentEventProducer, TransactionOperations.withoutTransaction());
+        ReflectionTestUtils.setField(relay, "batchSize", 10);
+        ReflectionTestUtils.setField(relay, "sendTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(relay, "leaseMs", 60000L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 5);
+        ReflectionTestUtils.setField(relay, "retryBackoffMs", 1000L);
+        ReflectionTestUtils.setField(relay, "maxRetryBackoffMs", 60000L);
+    }
+
+    @Test
+    void relay_shouldDeleteSentEventsAndCountFailedAttempts() throws Exception {
+        DebitSubscriptionPlanEvent planEvent = DebitSubscriptionPlanEvent.builder()
+                .userId(UUID.randomUUID()).plan(TypePlan.BASIC).description("Compra de Basic").subscriptionId(UUID.randomUUID()).build();
+        DebitAmountEvent amountEvent = DebitAmountEvent.builder()
+                .userId(UUID.randomUUID()).amount(new BigDecimal("19.90")).description("Renovação").subscriptionId(UUID.randomUUID()).build();
+        PaymentOutboxEntity sent = outboxEntity(1L, PaymentEventType.DEBIT_SUBSCRIPTION_PLAN, planEvent, "trace-1");
+        PaymentOutboxEntity failed = outboxEntity(2L, PaymentEventType.DEBIT_AMOUNT, amountEvent, null);
+
+        when(paymentOutboxRepository.leaseNextBatch(10, 60000L)).thenReturn(List.of(sent, failed));
+        when(paymentEventProducer.sendDebitSubscriptionPlanEvent(any(), eq("trace-1")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(paymentEventProducer.sendDebitAmountEvent(any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker unavailable")));
+
+        relay.relay();
+
+        ArgumentCaptor<DebitSubscriptionPlanEvent> captor = ArgumentCaptor.forClass(DebitSubscriptionPlanEvent.class);
+        verify(paymentEventProducer).sendDebitSubscriptionPlanEvent(captor.capture(), eq("trace-1"));
+        assertThat(captor.getValue()).isEqualTo(planEvent);
+        verify(paymentOutboxRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(paymentOutboxRepository).recordFailedAttempt(List.of(2L), 5, 1000L, 60000L);
+        verify(paymentOutboxRepository, times(1)).leaseNextBatch(anyInt(), anyLong());
+    }
+
+    @Test
+    void relay_shouldNotKeepDrainingWhenARowFailsRepeatedly() throws Exception {
+        DebitAmountEvent amountEvent = DebitAmountEvent.builder()
+                .userId(UUID.randomUUID()).amount(new BigDecimal("19.90")).description("Renovação").subscriptionId(UUID.randomUUID()).build();
+        PaymentOutboxEntity poison = outboxEntity(3L, PaymentEventType.DEBIT_AMOUNT, amountEvent, null);
+        poison.setAttempts(4);
+
+        when(paymentOutboxRepository.leaseNextBatch(10, 60000L)).thenReturn(List.of(poison));
+        when(paymentEventProducer.sendDebitAmountEvent(any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("record too large")));
+
+        relay.relay();
+
+        // The repository parks the row as a dead letter once it reaches maxAttempts
+        verify(paymentOutboxRepository).recordFailedAttempt(List.of(3L), 5, 1000L, 60000L);
+        verify(paymentOutboxRepository, never()).deleteAllByIdInBatch(any());
+        verify(paymentOutboxRepository, times(1)).leaseNextBatch(anyInt(), anyLong());
+    }
+
+    @Test
+    void relay_shouldSendOutsideTheTransactionThatRecordsTheOutcome() throws Exception {
+        DebitAmountEvent amountEvent = DebitAmountEvent.builder()
+                .userId(UUID.randomUUID()).amount(new BigDecimal("19.90")).description("Renovação").subscriptionId(UUID.randomUUID()).build();
+        PaymentOutboxEntity entity = outboxEntity(4L, PaymentEventType.DEBIT_AMOUNT, amountEvent, null);
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        relay = new PaymentOutboxRelay(paymentOutboxRepository, paymentEventProducer, new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                inTransaction.set(true);
+                try {
+                    return action.doInTransaction(new SimpleTransactionStatus());
+                } finally {
+                    inTransaction.set(false);
+                }
+            }
+        });
+        ReflectionTestUtils.setField(relay, "batchSize", 10);
+        ReflectionTestUtils.setField(relay, "sendTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(relay, "leaseMs", 60000L);
+
+        when(paymentOutboxRepository.leaseNextBatch(anyInt(), anyLong())).thenReturn(List.of(entity));
+        when(paymentEventProducer.sendDebitAmountEvent(any(), any())).thenAnswer(invocation -> {
+            assertThat(inTransaction).isFalse();
+            return CompletableFuture.completedFuture(null);
+        });
+        doAnswer(invocation -> {
+            assertThat(inTransaction).isTrue();
+            return null;
+        }).when(paymentOutboxRepository).deleteAllByIdInBatch(any());
+
+        relay.relay();
+
+        verify(paymentOutboxRepository).deleteAllByIdInBatch(List.of(4L));
+    }
+
+    @Test
+    void relay_shouldAwaitTheWholeBatchWithASingleDeadline() throws Exception {
+        ReflectionTestUtils.setField(relay, "sendTimeoutMs", 300L);
+        DebitAmountEvent amountEvent = DebitAmountEvent.builder()
+                .userId(UUID.randomUUID()).amount(new BigDecimal("19.90")).description("Renovação").subscriptionId(UUID.randomUUID()).build();
+        List<PaymentOutboxEntity> batch = List.of(
+                outboxEntity(5L, PaymentEventType.DEBIT_AMOUNT, amountEvent, null),
+                outboxEntity(6L, PaymentEventType.DEBIT_AMOUNT, amountEvent, null),
+                outboxEntity(7L, PaymentEventType.DEBIT_AMOUNT, amountEvent, null));
+
+        when(paymentOutboxRepository.leaseNextBatch(10, 60000L)).thenReturn(batch);
+        // The broker never acknowledges
+        when(paymentEventProducer.sendDebitAmountEvent(any(), any())).thenAnswer(invocation -> new CompletableFuture<>());
+
+        long startNanos = System.nanoTime();
+        relay.relay();
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        // Awaiting each send in turn would take three times the timeout
+        assertThat(elapsedMillis).isLessThan(600L);
+        verify(paymentOutboxRepository).recordFailedAttempt(List.of(5L, 6L, 7L), 5, 1000L, 60000L);
+        verify(paymentOutboxRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void relay_shouldDoNothingWhenOutboxIsEmpty() {
+        when(paymentOutboxRepository.leaseNextBatch(10, 60000L)).thenReturn(Collections.emptyList());
+
+        relay.relay();
+
+        verifyNoInteractions(paymentEventProducer);
+        verify(paymentOutboxRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    private PaymentOutboxEntity outboxEntity(Long id, PaymentEventType type, Object event, String traceId) throws Exception {
+        PaymentOutboxEntity entity = new PaymentOutboxEntity();
+        entity.setId(id);
+        entity.setEventType(type.name());
+        entity.setMessageKey(UUID.randomUUID().toString());
+        entity.setPayload(objectMapper.writeValueAsString(event));
+        entity.setTraceId(traceId);
+        entity.setAttempts(0);
+        entity.setCreatedAt(LocalDateTime.now());
+        return entity;
+    }
+}
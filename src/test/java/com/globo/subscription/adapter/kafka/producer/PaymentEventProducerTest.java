@@ -3,7 +3,6 @@ package com.globo.subscription.adapter.kafka.producer;
 import com.globo.subscription.adapter.kafka.dto.CreditRefundEvent;
 import com.globo.subscription.adapter.kafka.dto.DebitAmountEvent;
 import com.globo.subscription.adapter.kafka.dto.DebitSubscriptionPlanEvent;
-import com.globo.subscription.adapter.kafka.util.TraceUtil;
 import com.globo.subscription.core.domain.enums.TypePlan;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,10 +21,8 @@ import java.util.concurrent.CompletableFuture;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import org.mockito.MockedStatic;
 
 class PaymentEventProducerTest {
 
@@ -55,21 +52,18 @@ class PaymentEventProducerTest {
         when(event.getUserId()).thenReturn(userId);
         when(event.getPlan()).thenReturn(TypePlan.BASIC);
 
-        try (MockedStatic<TraceUtil> traceUtilMock = mockStatic(TraceUtil.class)) {
+        String traceId = "trace-123";
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(future);
 
-            traceUtilMock.when(TraceUtil::getCurrentTraceId).thenReturn("trace-123");
-            when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(future);
+        producer.sendDebitSubscriptionPlanEvent(event, traceId);
 
-            producer.sendDebitSubscriptionPlanEvent(event);
+        ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
 
-            ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        ProducerRecord record = captor.getValue();
 
-            verify(kafkaTemplate).send(captor.capture());
-            ProducerRecord record = captor.getValue();
-
-            assertThat(record.headers().lastHeader("traceId")).isNotNull();
-            assertThat(new String(record.headers().lastHeader("traceId").value())).isEqualTo("trace-123");
-        }
+        assertThat(record.headers().lastHeader("traceId")).isNotNull();
+        assertThat(new String(record.headers().lastHeader("traceId").value())).isEqualTo("trace-123");
     }
 
     @Test
@@ -80,20 +74,18 @@ class PaymentEventProducerTest {
         when(event.getUserId()).thenReturn(userId);
         when(event.getAmount()).thenReturn(java.math.BigDecimal.TEN);
 
-        try (MockedStatic<TraceUtil> traceUtilMock = mockStatic(TraceUtil.class)) {
-            traceUtilMock.when(TraceUtil::getCurrentTraceId).thenReturn("trace-456");
-            when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(future);
+        String traceId = "trace-456";
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(future);
 
-            producer.sendDebitAmountEvent(event);
+        producer.sendDebitAmountEvent(event, traceId);
 
-            ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
 
-            verify(kafkaTemplate).send(captor.capture());
-            ProducerRecord record = captor.getValue();
+        verify(kafkaTemplate).send(captor.capture());
+        ProducerRecord record = captor.getValue();
 
-            assertThat(record.headers().lastHeader("traceId")).isNotNull();
-            assertThat(new String(record.headers().lastHeader("traceId").value())).isEqualTo("trace-456");
-        }
+        assertThat(record.headers().lastHeader("traceId")).isNotNull();
+        assertThat(new String(record.headers().lastHeader("traceId").value())).isEqualTo("trace-456");
     }
 
     @Test
@@ -103,21 +95,18 @@ class PaymentEventProducerTest {
         when(event.getUserId()).thenReturn(userId);
         when(event.getAmount()).thenReturn(java.math.BigDecimal.ONE);
 
-        try (MockedStatic<TraceUtil> traceUtilMock = mockStatic(TraceUtil.class)) {
+        String traceId = "trace-789";
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(future);
 
-            traceUtilMock.when(TraceUtil::getCurrentTraceId).thenReturn("trace-789");
-            when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(future);
+        producer.sendCreditRefundEvent(event, traceId);
 
-            producer.sendCreditRefundEvent(event);
+        ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
 
-            ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
-            verify(kafkaTemplate).send(captor.capture());
+        ProducerRecord record = captor.getValue();
 
-            ProducerRecord record = captor.getValue();
-
-            assertThat(record.headers().lastHeader("traceId")).isNotNull();
-            assertThat(new String(record.headers().lastHeader("traceId").value())).isEqualTo("trace-789");
-        }
+        assertThat(record.headers().lastHeader("traceId")).isNotNull();
+        assertThat(new String(record.headers().lastHeader("traceId").value())).isEqualTo("trace-789");
     }
 
     @Test
@@ -127,19 +116,17 @@ class PaymentEventProducerTest {
         when(event.getUserId()).thenReturn(userId);
         when(event.getPlan()).thenReturn(TypePlan.BASIC);
 
-        try (MockedStatic<TraceUtil> traceUtilMock = mockStatic(TraceUtil.class)) {
-            traceUtilMock.when(TraceUtil::getCurrentTraceId).thenReturn(null);
-            when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(future);
+        String traceId = null;
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(future);
 
-            producer.sendDebitSubscriptionPlanEvent(event);
+        producer.sendDebitSubscriptionPlanEvent(event, traceId);
 
-            ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
 
-            verify(kafkaTemplate).send(captor.capture());
+        verify(kafkaTemplate).send(captor.capture());
 
-            ProducerRecord record = captor.getValue();
-            assertThat(record.headers().lastHeader("traceId")).isNull();
-        }
+        ProducerRecord record = captor.getValue();
+        assertThat(record.headers().lastHeader("traceId")).isNull();
     }
 
     private void setPrivateField(Object target, String fieldName, Object value) {
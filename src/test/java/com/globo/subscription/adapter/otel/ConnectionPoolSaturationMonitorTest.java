@@ -0,0 +1,62 @@
+package com.globo.subscription.adapter.otel;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionPoolSaturationMonitorTest {
+
+    private static final String POOL = "primary";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private ConnectionPoolSaturationMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        Gauge.builder("hikaricp.connections.active", active, AtomicInteger::get).tag("pool", POOL).register(meterRegistry);
+        Gauge.builder("hikaricp.connections.pending", pending, AtomicInteger::get).tag("pool", POOL).register(meterRegistry);
+        Gauge.builder("hikaricp.connections.max", () -> 10).tag("pool", POOL).register(meterRegistry);
+        monitor = new ConnectionPoolSaturationMonitor(meterRegistry);
+        ReflectionTestUtils.setField(monitor, "saturationThreshold", 0.9);
+    }
+
+    @Test
+    void checkSaturation_shouldPublishUsageOfEachPool() {
+        active.set(4);
+
+        monitor.checkSaturation();
+
+        assertThat(meterRegistry.get("hikaricp.connections.usage").tag("pool", POOL).gauge().value()).isEqualTo(0.4);
+        active.set(7);
+        assertThat(meterRegistry.get("hikaricp.connections.usage").tag("pool", POOL).gauge().value()).isEqualTo(0.7);
+        assertThat(saturatedCount()).isZero();
+    }
+
+    @Test
+    void checkSaturation_shouldCountChecksThatFindThePoolSaturated() {
+        active.set(9);
+        monitor.checkSaturation();
+
+        active.set(5);
+        pending.set(3);
+        monitor.checkSaturation();
+
+        pending.set(0);
+        monitor.checkSaturation();
+
+        assertThat(saturatedCount()).isEqualTo(2);
+    }
+
+    private double saturatedCount() {
+        return meterRegistry.get("hikaricp.connections.saturated").tag("pool", POOL).counter().count();
+    }
+}
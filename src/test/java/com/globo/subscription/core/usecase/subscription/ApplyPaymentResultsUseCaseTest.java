@@ -0,0 +1,138 @@
+package com.globo.subscription.core.usecase.subscription;
+
+import com.globo.subscription.core.domain.PaymentResult;
+import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.User;
+import com.globo.subscription.core.domain.enums.SubscriptionStatus;
+import com.globo.subscription.core.port.out.subscription.ActiveSubscriptionCachePort;
+import com.globo.subscription.core.port.out.subscription.SubscriptionRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApplyPaymentResultsUseCaseTest {
+
+    @Mock
+    private SubscriptionRepositoryPort subscriptionRepositoryPort;
+    @Mock
+    private ActiveSubscriptionCachePort activeSubscriptionCachePort;
+
+    private ApplyPaymentResultsUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ApplyPaymentResultsUseCase(subscriptionRepositoryPort, activeSubscriptionCachePort,
+                TransactionOperations.withoutTransaction());
+        ReflectionTestUtils.setField(useCase, "ttlSeconds", 3600L);
+    }
+
+    @Test
+    void execute_shouldTransitionEachStatusInOneCallAndCacheOnlyActivatedSubscriptions() {
+        PaymentResult approvedA = approved(UUID.randomUUID());
+        PaymentResult approvedB = approved(UUID.randomUUID());
+        PaymentResult declined = new PaymentResult(UUID.randomUUID(), UUID.randomUUID(), false);
+        Subscription activeA = subscription(approvedA, SubscriptionStatus.ACTIVE);
+        Subscription activeB = subscription(approvedB, SubscriptionStatus.ACTIVE);
+        Subscription failed = subscription(declined, SubscriptionStatus.PAYMENT_FAILED);
+        when(subscriptionRepositoryPort.transitionPendingStatus(
+                List.of(approvedA.subscriptionId(), approvedB.subscriptionId()), SubscriptionStatus.ACTIVE))
+                .thenReturn(List.of(activeA, activeB));
+        when(subscriptionRepositoryPort.transitionPendingStatus(List.of(declined.subscriptionId()), SubscriptionStatus.PAYMENT_FAILED))
+                .thenReturn(List.of(failed));
+
+        useCase.execute(List.of(approvedA, declined, approvedB));
+
+        verify(activeSubscriptionCachePort).putActiveSubscriptions(List.of(activeA, activeB), 3600L);
+        verify(activeSubscriptionCachePort).removeActiveSubscription(failed);
+    }
+
+    @Test
+    void execute_shouldRetryActivatedSubscriptionsOneByOneWhenBatchCacheWriteFails() {
+        PaymentResult approvedA = approved(UUID.randomUUID());
+        PaymentResult approvedB = approved(UUID.randomUUID());
+        Subscription activeA = subscription(approvedA, SubscriptionStatus.ACTIVE);
+        Subscription activeB = subscription(approvedB, SubscriptionStatus.ACTIVE);
+        when(subscriptionRepositoryPort.transitionPendingStatus(
+                List.of(approvedA.subscriptionId(), approvedB.subscriptionId()), SubscriptionStatus.ACTIVE))
+                .thenReturn(List.of(activeA, activeB));
+        doThrow(new IllegalStateException("redis down"))
+                .when(activeSubscriptionCachePort).putActiveSubscriptions(any(), anyLong());
+        doThrow(new IllegalStateException("redis down"))
+                .when(activeSubscriptionCachePort).putActiveSubscription(approvedA.userId(), activeA, 3600L);
+
+        assertThatCode(() -> useCase.execute(List.of(approvedA, approvedB))).doesNotThrowAnyException();
+
+        verify(activeSubscriptionCachePort).putActiveSubscription(approvedA.userId(), activeA, 3600L);
+        verify(activeSubscriptionCachePort).putActiveSubscription(approvedB.userId(), activeB, 3600L);
+    }
+
+    @Test
+    void execute_shouldNotFailBatchWhenRemovingFailedSubscriptionFromCacheFails() {
+        PaymentResult declined = new PaymentResult(UUID.randomUUID(), UUID.randomUUID(), false);
+        Subscription failed = subscription(declined, SubscriptionStatus.PAYMENT_FAILED);
+        when(subscriptionRepositoryPort.transitionPendingStatus(List.of(declined.subscriptionId()), SubscriptionStatus.PAYMENT_FAILED))
+                .thenReturn(List.of(failed));
+        doThrow(new IllegalStateException("redis down")).when(activeSubscriptionCachePort).removeActiveSubscription(failed);
+
+        assertThatCode(() -> useCase.execute(List.of(declined))).doesNotThrowAnyException();
+
+        verify(activeSubscriptionCachePort, never()).putActiveSubscriptions(any(), anyLong());
+    }
+
+    @Test
+    void execute_shouldApplyOnlyTheLastResultOfASubscription() {
+        UUID subscriptionId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        PaymentResult declined = new PaymentResult(subscriptionId, userId, false);
+        PaymentResult approved = new PaymentResult(subscriptionId, userId, true);
+        Subscription active = subscription(approved, SubscriptionStatus.ACTIVE);
+        when(subscriptionRepositoryPort.transitionPendingStatus(List.of(subscriptionId), SubscriptionStatus.ACTIVE))
+                .thenReturn(List.of(active));
+
+        useCase.execute(List.of(declined, approved));
+
+        verify(subscriptionRepositoryPort, never()).transitionPendingStatus(any(), eq(SubscriptionStatus.PAYMENT_FAILED));
+        verify(activeSubscriptionCachePort).putActiveSubscriptions(List.of(active), 3600L);
+    }
+
+    @Test
+    void execute_shouldNotTouchCacheWhenNothingWasPending() {
+        PaymentResult redelivered = approved(UUID.randomUUID());
+        when(subscriptionRepositoryPort.transitionPendingStatus(List.of(redelivered.subscriptionId()), SubscriptionStatus.ACTIVE))
+                .thenReturn(List.of());
+
+        useCase.execute(List.of(redelivered));
+
+        verify(activeSubscriptionCachePort, never()).putActiveSubscriptions(any(), anyLong());
+        verify(activeSubscriptionCachePort, never()).removeActiveSubscription(any());
+    }
+
+    private static PaymentResult approved(UUID subscriptionId) {
+        return new PaymentResult(subscriptionId, UUID.randomUUID(), true);
+    }
+
+    private static Subscription subscription(PaymentResult result, SubscriptionStatus status) {
+        return Subscription.builder()
+                .id(result.subscriptionId())
+                .user(User.builder().id(result.userId()).build())
+                .status(status)
+                .build();
+    }
+}
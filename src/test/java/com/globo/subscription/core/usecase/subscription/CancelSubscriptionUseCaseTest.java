@@ -45,31 +45,32 @@ class CancelSubscriptionUseCaseTest {
 
     @Test
     void execute_shouldCancelActiveSubscription() {
-        when(subscriptionRepositoryPort.findById(subscriptionId)).thenReturn(Optional.of(subscription));
-        when(subscriptionRepositoryPort.save(any(Subscription.class))).thenReturn(subscription);
+        subscription.setStatus(SubscriptionStatus.CANCELED);
+        when(subscriptionRepositoryPort.transitionStatus(subscriptionId, SubscriptionStatus.CANCELED)).thenReturn(Optional.of(subscription));
         useCase.execute(subscriptionId);
-        verify(subscriptionRepositoryPort).save(subscription);
-        verify(activeSubscriptionCachePort).removeActiveSubscription(user.getId());
+        verify(subscriptionRepositoryPort, never()).findById(any());
+        verify(subscriptionRepositoryPort, never()).save(any());
+        verify(activeSubscriptionCachePort).removeActiveSubscription(subscription);
     }
 
     @Test
     void execute_shouldThrowIfSubscriptionNotFound() {
+        when(subscriptionRepositoryPort.transitionStatus(subscriptionId, SubscriptionStatus.CANCELED)).thenReturn(Optional.empty());
         when(subscriptionRepositoryPort.findById(subscriptionId)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> useCase.execute(subscriptionId))
                 .isInstanceOf(SubscriptionNotFoundException.class)
                 .hasMessageContaining(subscriptionId.toString());
-        verify(subscriptionRepositoryPort, never()).save(any());
         verify(activeSubscriptionCachePort, never()).removeActiveSubscription(any());
     }
 
     @Test
     void execute_shouldThrowIfAlreadyCanceled() {
         subscription.setStatus(SubscriptionStatus.CANCELED);
+        when(subscriptionRepositoryPort.transitionStatus(subscriptionId, SubscriptionStatus.CANCELED)).thenReturn(Optional.empty());
         when(subscriptionRepositoryPort.findById(subscriptionId)).thenReturn(Optional.of(subscription));
         assertThatThrownBy(() -> useCase.execute(subscriptionId))
                 .isInstanceOf(SubscriptionAlreadyCanceledException.class)
                 .hasMessageContaining(subscriptionId.toString());
-        verify(subscriptionRepositoryPort, never()).save(any());
         verify(activeSubscriptionCachePort, never()).removeActiveSubscription(any());
     }
 }
@@ -0,0 +1,139 @@
+package com.globo.subscription.core.usecase.subscription;
+
+import com.globo.subscription.core.domain.Subscription;
+import com.globo.subscription.core.domain.SubscriptionCreationRequest;
+import com.globo.subscription.core.domain.User;
+import com.globo.subscription.core.domain.enums.SubscriptionRequestStatus;
+import com.globo.subscription.core.domain.enums.TypePlan;
+import com.globo.subscription.core.exception.SubscriptionCreationUnavailableException;
+import com.globo.subscription.core.exception.WalletNotFoundException;
+import com.globo.subscription.core.port.in.subscription.CreateSubscriptionPort;
+import com.globo.subscription.core.port.out.subscription.SubscriptionCreationRequestPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CreateSubscriptionAsyncUseCaseTest {
+
+    private static final long TTL_SECONDS = 600;
+
+    @Mock
+    private CreateSubscriptionPort createSubscriptionPort;
+    @Mock
+    private SubscriptionCreationRequestPort subscriptionCreationRequestPort;
+
+    private final List<Runnable> submitted = new ArrayList<>();
+    private Subscription subscription;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        User user = new User();
+        user.setId(userId);
+        subscription = new Subscription();
+        subscription.setUser(user);
+        subscription.setPlan(TypePlan.PREMIUM);
+    }
+
+    @Test
+    void execute_shouldRecordProcessingRequestAndReturnBeforeCreating() {
+        CreateSubscriptionAsyncUseCase useCase = useCase(submitted::add);
+
+        SubscriptionCreationRequest request = useCase.execute(subscription);
+
+        assertThat(request.status()).isEqualTo(SubscriptionRequestStatus.PROCESSING);
+        assertThat(request.userId()).isEqualTo(userId);
+        verify(subscriptionCreationRequestPort).save(request, TTL_SECONDS);
+        verify(createSubscriptionPort, never()).execute(any());
+        assertThat(submitted).hasSize(1);
+    }
+
+    @Test
+    void execute_shouldRecordCompletedRequestWithCreatedSubscription() {
+        Subscription created = new Subscription();
+        created.setId(UUID.randomUUID());
+        when(createSubscriptionPort.execute(subscription)).thenReturn(created);
+
+        SubscriptionCreationRequest request = useCase(new SyncTaskExecutor()).execute(subscription);
+
+        SubscriptionCreationRequest outcome = lastSaved();
+        assertThat(outcome.id()).isEqualTo(request.id());
+        assertThat(outcome.status()).isEqualTo(SubscriptionRequestStatus.COMPLETED);
+        assertThat(outcome.subscriptionId()).isEqualTo(created.getId());
+    }
+
+    @Test
+    void execute_shouldRecordFailedRequestWithReason() {
+        when(createSubscriptionPort.execute(subscription))
+                .thenThrow(new WalletNotFoundException("Usuário " + userId + " não possui carteira cadastrada."));
+
+        SubscriptionCreationRequest request = useCase(new SyncTaskExecutor()).execute(subscription);
+
+        SubscriptionCreationRequest outcome = lastSaved();
+        assertThat(outcome.id()).isEqualTo(request.id());
+        assertThat(outcome.status()).isEqualTo(SubscriptionRequestStatus.FAILED);
+        assertThat(outcome.subscriptionId()).isNull();
+        assertThat(outcome.error()).contains("não possui carteira cadastrada");
+    }
+
+    @Test
+    void execute_shouldNotExposeUnexpectedFailureDetails() {
+        when(createSubscriptionPort.execute(subscription))
+                .thenThrow(new IllegalStateException("could not extract ResultSet: connection refused to db:5432"));
+
+        useCase(new SyncTaskExecutor()).execute(subscription);
+
+        SubscriptionCreationRequest outcome = lastSaved();
+        assertThat(outcome.status()).isEqualTo(SubscriptionRequestStatus.FAILED);
+        assertThat(outcome.error()).isEqualTo(CreateSubscriptionAsyncUseCase.UNEXPECTED_FAILURE_MESSAGE);
+    }
+
+    @Test
+    void execute_shouldRefuseRequestWhenExecutorIsSaturated() {
+        CreateSubscriptionAsyncUseCase useCase = useCase(task -> {
+            throw new TaskRejectedException("saturated");
+        });
+
+        assertThatThrownBy(() -> useCase.execute(subscription))
+                .isInstanceOf(SubscriptionCreationUnavailableException.class);
+
+        SubscriptionCreationRequest outcome = lastSaved();
+        assertThat(outcome.status()).isEqualTo(SubscriptionRequestStatus.FAILED);
+        verify(createSubscriptionPort, never()).execute(any());
+    }
+
+    private CreateSubscriptionAsyncUseCase useCase(TaskExecutor executor) {
+        CreateSubscriptionAsyncUseCase useCase =
+                new CreateSubscriptionAsyncUseCase(createSubscriptionPort, subscriptionCreationRequestPort, executor);
+        ReflectionTestUtils.setField(useCase, "requestTtlSeconds", TTL_SECONDS);
+        return useCase;
+    }
+
+    private SubscriptionCreationRequest lastSaved() {
+        ArgumentCaptor<SubscriptionCreationRequest> captor = ArgumentCaptor.forClass(SubscriptionCreationRequest.class);
+        verify(subscriptionCreationRequestPort, times(2)).save(captor.capture(), eq(TTL_SECONDS));
+        return captor.getAllValues().get(1);
+    }
+}
@@ -2,8 +2,10 @@ package com.globo.subscription.core.usecase.subscription;
 
 import com.globo.subscription.core.domain.Subscription;
 import com.globo.subscription.core.domain.User;
+import com.globo.subscription.core.domain.enums.SubscriptionStatus;
 import com.globo.subscription.core.domain.enums.TypePlan;
 import com.globo.subscription.core.exception.ActiveSubscriptionAlreadyExistsException;
+import com.globo.subscription.core.exception.SubscriptionAlreadyUpdatedException;
 import com.globo.subscription.core.exception.UserNotFoundException;
 import com.globo.subscription.core.exception.WalletNotFoundException;
 import com.globo.subscription.core.port.out.subscription.SubscriptionRepositoryPort;
@@ -18,19 +20,28 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.contains;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -50,7 +61,6 @@ class CreateSubscriptionUseCaseTest {
     @Mock
     private PlanChangeStrategyResolver planChangeStrategyResolver;
 
-    @InjectMocks
     private CreateSubscriptionUseCase useCase;
 
     private User user;
@@ -58,6 +68,9 @@ class CreateSubscriptionUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        useCase = new CreateSubscriptionUseCase(subscriptionRepositoryPort, userRepositoryPort, paymentPort,
+                activeSubscriptionCachePort, walletPort, planChangeStrategyResolver, new SyncTaskExecutor(),
+                TransactionOperations.withoutTransaction(), new SubscriptionUpdateRetry(3));
         user = new User();
         user.setId(UUID.randomUUID());
         subscription = new Subscription();
@@ -84,15 +97,18 @@ class CreateSubscriptionUseCaseTest {
     void shouldThrowWhenActiveSubscriptionExists() {
         when(userRepositoryPort.findById(any())).thenReturn(Optional.of(user));
         when(walletPort.existsWallet(any())).thenReturn(true);
-        when(subscriptionRepositoryPort.findActiveByUserId(any())).thenReturn(Optional.of(new Subscription()));
+        when(subscriptionRepositoryPort.findLatestByUserId(any())).thenReturn(Optional.empty());
+        when(subscriptionRepositoryPort.save(any()))
+                .thenThrow(new ActiveSubscriptionAlreadyExistsException("Usuário " + user.getId() + " já possui uma assinatura ativa ou pendente."));
         assertThrows(ActiveSubscriptionAlreadyExistsException.class, () -> useCase.execute(subscription));
+        verify(paymentPort, never()).debitSubscriptionPlan(any(), any(), any());
+        verify(activeSubscriptionCachePort, never()).putActiveSubscription(any(), any(), anyLong());
     }
 
     @Test
     void shouldCreateSubscriptionSuccessfully() {
         when(userRepositoryPort.findById(any())).thenReturn(Optional.of(user));
         when(walletPort.existsWallet(any())).thenReturn(true);
-        when(subscriptionRepositoryPort.findActiveByUserId(any())).thenReturn(Optional.empty());
         when(subscriptionRepositoryPort.findLatestByUserId(any())).thenReturn(Optional.empty());
         when(subscriptionRepositoryPort.save(any())).thenReturn(subscription);
         Subscription result = useCase.execute(subscription);
@@ -101,6 +117,37 @@ class CreateSubscriptionUseCaseTest {
         verify(activeSubscriptionCachePort).putActiveSubscription(any(), any(), anyLong());
     }
 
+    @Test
+    void shouldRunLookupsConcurrently() {
+        // Each lookup waits for the other two to start, so this only completes when they overlap
+        CyclicBarrier allLookupsStarted = new CyclicBarrier(3);
+        when(userRepositoryPort.findById(any())).thenAnswer(invocation -> {
+            allLookupsStarted.await(5, TimeUnit.SECONDS);
+            return Optional.of(user);
+        });
+        when(walletPort.existsWallet(any())).thenAnswer(invocation -> {
+            allLookupsStarted.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        when(subscriptionRepositoryPort.findLatestByUserId(any())).thenAnswer(invocation -> {
+            allLookupsStarted.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        when(subscriptionRepositoryPort.save(any())).thenReturn(subscription);
+
+        ExecutorService lookups = Executors.newFixedThreadPool(3);
+        try {
+            CreateSubscriptionUseCase concurrentUseCase = new CreateSubscriptionUseCase(subscriptionRepositoryPort,
+                    userRepositoryPort, paymentPort, activeSubscriptionCachePort, walletPort, planChangeStrategyResolver,
+                    new TaskExecutorAdapter(lookups), TransactionOperations.withoutTransaction(), new SubscriptionUpdateRetry(3));
+
+            assertNotNull(concurrentUseCase.execute(subscription));
+            verify(paymentPort).debitSubscriptionPlan(any(), any(), any());
+        } finally {
+            lookups.shutdownNow();
+        }
+    }
+
     @Test
     void shouldHandlePlanUpgradeAndChargeDifference() {
         Subscription oldSub = new Subscription();
@@ -134,7 +181,6 @@ class CreateSubscriptionUseCaseTest {
         });
         when(userRepositoryPort.findById(any())).thenReturn(Optional.of(user));
         when(walletPort.existsWallet(any())).thenReturn(true);
-        when(subscriptionRepositoryPort.findActiveByUserId(any())).thenReturn(Optional.empty());
         when(subscriptionRepositoryPort.findLatestByUserId(any())).thenReturn(Optional.of(oldSub));
         when(subscriptionRepositoryPort.save(any())).thenReturn(oldSub);
 
@@ -181,7 +227,6 @@ class CreateSubscriptionUseCaseTest {
         });
         when(userRepositoryPort.findById(any())).thenReturn(Optional.of(user));
         when(walletPort.existsWallet(any())).thenReturn(true);
-        when(subscriptionRepositoryPort.findActiveByUserId(any())).thenReturn(Optional.empty());
         when(subscriptionRepositoryPort.findLatestByUserId(any())).thenReturn(Optional.of(oldSub));
         when(subscriptionRepositoryPort.save(any())).thenReturn(oldSub);
 
@@ -219,7 +264,6 @@ class CreateSubscriptionUseCaseTest {
         });
         when(userRepositoryPort.findById(any())).thenReturn(Optional.of(user));
         when(walletPort.existsWallet(any())).thenReturn(true);
-        when(subscriptionRepositoryPort.findActiveByUserId(any())).thenReturn(Optional.empty());
         when(subscriptionRepositoryPort.findLatestByUserId(any())).thenReturn(Optional.of(oldSub));
         when(subscriptionRepositoryPort.save(any())).thenReturn(oldSub);
 
@@ -257,7 +301,6 @@ class CreateSubscriptionUseCaseTest {
         });
         when(userRepositoryPort.findById(any())).thenReturn(Optional.of(user));
         when(walletPort.existsWallet(any())).thenReturn(true);
-        when(subscriptionRepositoryPort.findActiveByUserId(any())).thenReturn(Optional.empty());
         when(subscriptionRepositoryPort.findLatestByUserId(any())).thenReturn(Optional.of(oldSub));
         when(subscriptionRepositoryPort.save(any())).thenReturn(oldSub);
 
@@ -268,4 +311,60 @@ class CreateSubscriptionUseCaseTest {
         verify(paymentPort, never()).creditRefund(any(), any(), any(), any());
         verify(activeSubscriptionCachePort).putActiveSubscription(eq(user.getId()), eq(oldSub), anyLong());
     }
+
+    @Test
+    void shouldRetryPlanChangeOnAFreshReadWhenItLosesAConcurrentUpdate() {
+        Subscription stale = canceledSubscription(TypePlan.BASIC);
+        Subscription fresh = stale.toBuilder().version(1L).build();
+        Subscription upgrade = new Subscription();
+        upgrade.setUser(user);
+        upgrade.setPlan(TypePlan.PREMIUM);
+
+        PlanChangeStrategy strategy = mock(PlanChangeStrategy.class);
+        when(planChangeStrategyResolver.resolve(any(), eq(TypePlan.PREMIUM))).thenReturn(strategy);
+        when(strategy.apply(stale, TypePlan.PREMIUM, user))
+                .thenThrow(new SubscriptionAlreadyUpdatedException("Assinatura alterada"));
+        when(strategy.apply(fresh, TypePlan.PREMIUM, user)).thenReturn(fresh);
+        when(userRepositoryPort.findById(any())).thenReturn(Optional.of(user));
+        when(walletPort.existsWallet(any())).thenReturn(true);
+        when(subscriptionRepositoryPort.findLatestByUserId(any())).thenReturn(Optional.of(stale));
+        when(subscriptionRepositoryPort.findById(stale.getId())).thenReturn(Optional.of(fresh));
+
+        Subscription result = useCase.execute(upgrade);
+
+        assertSame(fresh, result);
+        verify(strategy).apply(fresh, TypePlan.PREMIUM, user);
+        verify(activeSubscriptionCachePort).putActiveSubscription(eq(user.getId()), eq(fresh), anyLong());
+    }
+
+    @Test
+    void shouldRejectPlanChangeWhenAConcurrentRequestAlreadyBroughtTheSubscriptionBack() {
+        Subscription stale = canceledSubscription(TypePlan.BASIC);
+        Subscription reactivated = stale.toBuilder().status(SubscriptionStatus.PENDING).build();
+        Subscription reactivation = new Subscription();
+        reactivation.setUser(user);
+        reactivation.setPlan(TypePlan.BASIC);
+
+        PlanChangeStrategy strategy = mock(PlanChangeStrategy.class);
+        when(planChangeStrategyResolver.resolve(any(), any())).thenReturn(strategy);
+        when(strategy.apply(any(), any(), any())).thenThrow(new SubscriptionAlreadyUpdatedException("Assinatura alterada"));
+        when(userRepositoryPort.findById(any())).thenReturn(Optional.of(user));
+        when(walletPort.existsWallet(any())).thenReturn(true);
+        when(subscriptionRepositoryPort.findLatestByUserId(any())).thenReturn(Optional.of(stale));
+        when(subscriptionRepositoryPort.findById(stale.getId())).thenReturn(Optional.of(reactivated));
+
+        assertThrows(ActiveSubscriptionAlreadyExistsException.class, () -> useCase.execute(reactivation));
+
+        verify(strategy, times(1)).apply(any(), any(), any());
+        verify(activeSubscriptionCachePort, never()).putActiveSubscription(any(), any(), anyLong());
+    }
+
+    private Subscription canceledSubscription(TypePlan plan) {
+        Subscription canceled = new Subscription();
+        canceled.setId(UUID.randomUUID());
+        canceled.setUser(user);
+        canceled.setPlan(plan);
+        canceled.setStatus(SubscriptionStatus.CANCELED);
+        return canceled;
+    }
 }
@@ -0,0 +1,44 @@
+package com.globo.subscription.core.usecase.subscription;
+
+import com.globo.subscription.core.domain.SubscriptionCreationRequest;
+import com.globo.subscription.core.exception.SubscriptionNotFoundException;
+import com.globo.subscription.core.port.out.subscription.SubscriptionCreationRequestPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetSubscriptionCreationRequestUseCaseTest {
+
+    @Mock
+    private SubscriptionCreationRequestPort subscriptionCreationRequestPort;
+    @InjectMocks
+    private GetSubscriptionCreationRequestUseCase useCase;
+
+    @Test
+    void execute_shouldReturnRecordedRequest() {
+        SubscriptionCreationRequest request = SubscriptionCreationRequest.processing(UUID.randomUUID());
+        when(subscriptionCreationRequestPort.findById(request.id())).thenReturn(Optional.of(request));
+
+        assertThat(useCase.execute(request.id())).isEqualTo(request);
+    }
+
+    @Test
+    void execute_shouldThrowWhenRequestIsUnknownOrExpired() {
+        UUID requestId = UUID.randomUUID();
+        when(subscriptionCreationRequestPort.findById(requestId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> useCase.execute(requestId))
+                .isInstanceOf(SubscriptionNotFoundException.class)
+                .hasMessageContaining(requestId.toString());
+    }
+}
@@ -1,21 +1,27 @@
 package com.globo.subscription.core.usecase.subscription;
 
+import com.globo.subscription.core.domain.RenewalCursor;
 import com.globo.subscription.core.domain.Subscription;
 import com.globo.subscription.core.domain.User;
 import com.globo.subscription.core.domain.enums.SubscriptionStatus;
 import com.globo.subscription.core.domain.enums.TypePlan;
+import com.globo.subscription.core.exception.SubscriptionAlreadyUpdatedException;
 import com.globo.subscription.core.port.out.payment.PaymentPort;
 import com.globo.subscription.core.port.out.subscription.SubscriptionRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,7 +34,6 @@ class RenewSubscriptionsUseCaseTest {
     private SubscriptionRepositoryPort subscriptionRepositoryPort;
     @Mock
     private PaymentPort paymentPort;
-    @InjectMocks
     private RenewSubscriptionsUseCase useCase;
 
     private Subscription subscription;
@@ -37,6 +42,7 @@ class RenewSubscriptionsUseCaseTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        useCase = new RenewSubscriptionsUseCase(subscriptionRepositoryPort, paymentPort, new SyncTaskExecutor(), TransactionOperations.withoutTransaction(), new SubscriptionUpdateRetry(3));
         user = new User();
         user.setId(UUID.randomUUID());
         user.setEmail("test@user.com");
@@ -52,56 +58,56 @@ class RenewSubscriptionsUseCaseTest {
     @Test
     void execute_shouldRenewAllSubscriptionsSuccessfully() {
         List<Subscription> toRenew = List.of(subscription);
-        when(subscriptionRepositoryPort.findSubscriptionsToRenew(any(LocalDate.class), anyInt())).thenReturn(toRenew);
-        when(subscriptionRepositoryPort.save(any())).thenReturn(subscription);
+        when(subscriptionRepositoryPort.claimSubscriptionsToRenew(any(LocalDate.class), any(), anyInt())).thenReturn(toRenew);
+        when(subscriptionRepositoryPort.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
         doNothing().when(paymentPort).debitAmount(any(), any(), any(), any());
 
         List<Subscription> renewed = useCase.execute();
 
-        assertThat(renewed).containsExactly(subscription);
+        assertThat(renewed).extracting(Subscription::getId).containsExactly(subscription.getId());
+        assertThat(renewed.get(0).getStatus()).isEqualTo(SubscriptionStatus.PENDING);
         verify(paymentPort).debitAmount(
                 eq(user.getId()), 
                 eq(TypePlan.BASIC.getPrice()), 
                 eq("Renovação de " + TypePlan.BASIC.getDescription()), 
                 eq(subscription.getId())
         );
-        verify(subscriptionRepositoryPort).save(any());
+        verify(subscriptionRepositoryPort).saveAll(any());
+        verify(subscriptionRepositoryPort, never()).save(any());
     }
 
     @Test
     void execute_shouldHandlePaymentFailureAndIncrementAttempts() {
         List<Subscription> toRenew = List.of(subscription);
-        when(subscriptionRepositoryPort.findSubscriptionsToRenew(any(LocalDate.class), anyInt())).thenReturn(toRenew);
+        when(subscriptionRepositoryPort.claimSubscriptionsToRenew(any(LocalDate.class), any(), anyInt())).thenReturn(toRenew);
         doThrow(new RuntimeException("Payment failed")).when(paymentPort).debitAmount(any(), any(), any(), any());
-        when(subscriptionRepositoryPort.save(any())).thenReturn(subscription);
+        when(subscriptionRepositoryPort.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         List<Subscription> renewed = useCase.execute();
 
         assertThat(renewed).isEmpty();
-        ArgumentCaptor<Subscription> captor = ArgumentCaptor.forClass(Subscription.class);
-        verify(subscriptionRepositoryPort).save(captor.capture());
-        assertThat(captor.getValue().getRenewalAttempts()).isEqualTo(1);
-        assertThat(captor.getValue().getStatus()).isEqualTo(SubscriptionStatus.ACTIVE);
+        Subscription saved = captureSingleSave();
+        assertThat(saved.getRenewalAttempts()).isEqualTo(1);
+        assertThat(saved.getStatus()).isEqualTo(SubscriptionStatus.ACTIVE);
     }
 
     @Test
     void execute_shouldSuspendSubscriptionAfterMaxAttempts() {
         subscription.setRenewalAttempts(2);
         List<Subscription> toRenew = List.of(subscription);
-        when(subscriptionRepositoryPort.findSubscriptionsToRenew(any(LocalDate.class), anyInt())).thenReturn(toRenew);
+        when(subscriptionRepositoryPort.claimSubscriptionsToRenew(any(LocalDate.class), any(), anyInt())).thenReturn(toRenew);
         doThrow(new RuntimeException("Payment failed")).when(paymentPort).debitAmount(any(), any(), any(), any());
-        when(subscriptionRepositoryPort.save(any())).thenReturn(subscription);
+        when(subscriptionRepositoryPort.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         useCase.execute();
 
-        ArgumentCaptor<Subscription> captor = ArgumentCaptor.forClass(Subscription.class);
-        verify(subscriptionRepositoryPort).save(captor.capture());
-        assertThat(captor.getValue().getRenewalAttempts()).isEqualTo(3);
-        assertThat(captor.getValue().getStatus()).isEqualTo(SubscriptionStatus.SUSPENDED);
+        Subscription saved = captureSingleSave();
+        assertThat(saved.getRenewalAttempts()).isEqualTo(3);
+        assertThat(saved.getStatus()).isEqualTo(SubscriptionStatus.SUSPENDED);
     }
 
     @Test
-    void execute_shouldHandleMultipleSubscriptionsWithMixedResults() {
+    void execute_shouldFallBackToOneByOneWhenBatchHasMixedResults() {
         Subscription sub2 = new Subscription();
         sub2.setId(UUID.randomUUID());
         sub2.setUser(user);
@@ -110,14 +116,9 @@ class RenewSubscriptionsUseCaseTest {
         sub2.setRenewalAttempts(2);
 
         List<Subscription> toRenew = List.of(subscription, sub2);
-        when(subscriptionRepositoryPort.findSubscriptionsToRenew(any(LocalDate.class), anyInt())).thenReturn(toRenew);
-        when(subscriptionRepositoryPort.save(any())).thenReturn(subscription, sub2);
-        doNothing().when(paymentPort).debitAmount(
-                eq(user.getId()), 
-                eq(TypePlan.BASIC.getPrice()), 
-                eq("Renovação de " + TypePlan.BASIC.getDescription()), 
-                eq(subscription.getId())
-        );
+        when(subscriptionRepositoryPort.claimSubscriptionsToRenew(any(LocalDate.class), any(), anyInt())).thenReturn(toRenew);
+        when(subscriptionRepositoryPort.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(subscriptionRepositoryPort.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
         doThrow(new RuntimeException("Payment failed")).when(paymentPort).debitAmount(
                 eq(user.getId()), 
                 eq(TypePlan.PREMIUM.getPrice()), 
@@ -127,28 +128,160 @@ class RenewSubscriptionsUseCaseTest {
 
         List<Subscription> renewed = useCase.execute();
 
-        assertThat(renewed).containsExactly(subscription);
-        verify(paymentPort).debitAmount(
+        assertThat(renewed).extracting(Subscription::getId).containsExactly(subscription.getId());
+        // Once in the rolled back batch and once on its own.
+        verify(paymentPort, times(2)).debitAmount(
                 eq(user.getId()), 
                 eq(TypePlan.BASIC.getPrice()), 
                 eq("Renovação de " + TypePlan.BASIC.getDescription()), 
                 eq(subscription.getId())
         );
-        verify(paymentPort).debitAmount(
-                eq(user.getId()), 
-                eq(TypePlan.PREMIUM.getPrice()), 
-                eq("Renovação de " + TypePlan.PREMIUM.getDescription()), 
-                eq(sub2.getId())
-        );
+        // The renewal of the first and the failure of the second, each in its own transaction
+        ArgumentCaptor<Subscription> captor = ArgumentCaptor.forClass(Subscription.class);
+        verify(subscriptionRepositoryPort, times(2)).save(captor.capture());
+        assertThat(captor.getAllValues()).filteredOn(saved -> saved.getId().equals(sub2.getId()))
+                .singleElement()
+                .satisfies(failed -> assertThat(failed.getStatus()).isEqualTo(SubscriptionStatus.SUSPENDED));
+        verify(subscriptionRepositoryPort, never()).saveAll(any());
+    }
+
+    @Test
+    void execute_shouldRenewAgainOnAFreshReadWhenTheSaveLosesAConcurrentUpdate() {
+        Subscription fresh = subscription.toBuilder().expirationDate(LocalDate.now()).version(1L).build();
+        when(subscriptionRepositoryPort.claimSubscriptionsToRenew(any(LocalDate.class), any(), anyInt())).thenReturn(List.of(subscription));
+        when(subscriptionRepositoryPort.saveAll(any())).thenThrow(new SubscriptionAlreadyUpdatedException("Assinaturas alteradas"));
+        when(subscriptionRepositoryPort.save(any()))
+                .thenThrow(new SubscriptionAlreadyUpdatedException("Assinatura alterada"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(subscriptionRepositoryPort.findById(subscription.getId())).thenReturn(Optional.of(fresh));
+
+        List<Subscription> renewed = useCase.execute();
+
+        assertThat(renewed).singleElement().satisfies(result -> {
+            assertThat(result.getVersion()).isEqualTo(1L);
+            assertThat(result.getStatus()).isEqualTo(SubscriptionStatus.PENDING);
+        });
         verify(subscriptionRepositoryPort, times(2)).save(any());
     }
 
+    @Test
+    void execute_shouldSkipSubscriptionThatIsNoLongerDueAfterAConcurrentUpdate() {
+        Subscription canceled = subscription.toBuilder().status(SubscriptionStatus.CANCELED).version(1L).build();
+        when(subscriptionRepositoryPort.claimSubscriptionsToRenew(any(LocalDate.class), any(), anyInt())).thenReturn(List.of(subscription));
+        when(subscriptionRepositoryPort.saveAll(any())).thenThrow(new SubscriptionAlreadyUpdatedException("Assinaturas alteradas"));
+        when(subscriptionRepositoryPort.save(any())).thenThrow(new SubscriptionAlreadyUpdatedException("Assinatura alterada"));
+        when(subscriptionRepositoryPort.findById(subscription.getId())).thenReturn(Optional.of(canceled));
+
+        List<Subscription> renewed = useCase.execute();
+
+        assertThat(renewed).isEmpty();
+        verify(subscriptionRepositoryPort, times(1)).save(any());
+        // Only the rolled back batch: nothing is recorded as a failed renewal
+        verify(subscriptionRepositoryPort, times(1)).saveAll(any());
+    }
+
+    @Test
+    void execute_shouldKeepEachFailedAttemptWhenAnotherFailureLosesAConcurrentUpdate() {
+        Subscription sub2 = subscription.toBuilder().id(UUID.randomUUID()).build();
+        Subscription fresh = subscription.toBuilder().expirationDate(LocalDate.now()).renewalAttempts(1).version(1L).build();
+        when(subscriptionRepositoryPort.claimSubscriptionsToRenew(any(LocalDate.class), any(), anyInt())).thenReturn(List.of(subscription, sub2));
+        doThrow(new RuntimeException("Payment failed")).when(paymentPort).debitAmount(any(), any(), any(), any());
+        when(subscriptionRepositoryPort.save(argThat(saved -> saved != null && saved.getId().equals(subscription.getId()))))
+                .thenThrow(new SubscriptionAlreadyUpdatedException("Assinatura alterada"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(subscriptionRepositoryPort.save(argThat(saved -> saved != null && saved.getId().equals(sub2.getId()))))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(subscriptionRepositoryPort.findById(subscription.getId())).thenReturn(Optional.of(fresh));
+
+        useCase.execute();
+
+        ArgumentCaptor<Subscription> captor = ArgumentCaptor.forClass(Subscription.class);
+        verify(subscriptionRepositoryPort, times(3)).save(captor.capture());
+        List<Subscription> saved = captor.getAllValues();
+        // Counted again on top of the concurrent change, which had already recorded one attempt
+        assertThat(saved).filteredOn(failed -> failed.getId().equals(subscription.getId()))
+                .hasSize(2)
+                .last()
+                .satisfies(failed -> {
+                    assertThat(failed.getRenewalAttempts()).isEqualTo(2);
+                    assertThat(failed.getVersion()).isEqualTo(1L);
+                });
+        assertThat(saved).filteredOn(failed -> failed.getId().equals(sub2.getId()))
+                .singleElement()
+                .satisfies(failed -> assertThat(failed.getRenewalAttempts()).isEqualTo(1));
+        verify(subscriptionRepositoryPort, never()).saveAll(any());
+    }
+
+    private Subscription captureSingleSave() {
+        ArgumentCaptor<Subscription> captor = ArgumentCaptor.forClass(Subscription.class);
+        verify(subscriptionRepositoryPort).save(captor.capture());
+        return captor.getValue();
+    }
+
     @Test
     void execute_shouldReturnEmptyListWhenNoSubscriptionsToRenew() {
-        when(subscriptionRepositoryPort.findSubscriptionsToRenew(any(LocalDate.class), anyInt())).thenReturn(new ArrayList<>());
+        when(subscriptionRepositoryPort.claimSubscriptionsToRenew(any(LocalDate.class), any(), anyInt())).thenReturn(new ArrayList<>());
         List<Subscription> renewed = useCase.execute();
         assertThat(renewed).isEmpty();
         verify(paymentPort, never()).debitSubscriptionPlan(any(), any(), any());
         verify(subscriptionRepositoryPort, never()).save(any());
+        verify(subscriptionRepositoryPort, never()).saveAll(any());
+    }
+
+    @Test
+    void execute_shouldRenewSubscriptionsOfDifferentUsersAcrossPartitions() {
+        useCase = new RenewSubscriptionsUseCase(subscriptionRepositoryPort, paymentPort, new SimpleAsyncTaskExecutor("renewal-test-"), TransactionOperations.withoutTransaction(), new SubscriptionUpdateRetry(3));
+        ReflectionTestUtils.setField(useCase, "parallelism", 4);
+
+        List<Subscription> toRenew = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            User otherUser = new User();
+            otherUser.setId(UUID.randomUUID());
+            Subscription other = new Subscription();
+            other.setId(UUID.randomUUID());
+            other.setUser(otherUser);
+            other.setPlan(TypePlan.BASIC);
+            other.setStatus(SubscriptionStatus.ACTIVE);
+            other.setRenewalAttempts(0);
+            toRenew.add(other);
+        }
+        when(subscriptionRepositoryPort.claimSubscriptionsToRenew(any(LocalDate.class), any(), anyInt())).thenReturn(toRenew);
+        when(subscriptionRepositoryPort.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Subscription> renewed = useCase.execute();
+
+        assertThat(renewed).extracting(Subscription::getId)
+                .containsExactlyInAnyOrderElementsOf(toRenew.stream().map(Subscription::getId).toList());
+        verify(paymentPort, times(20)).debitAmount(any(), any(), any(), any());
+        verify(subscriptionRepositoryPort, atMost(4)).saveAll(any());
+        verify(subscriptionRepositoryPort, never()).save(any());
+    }
+
+    @Test
+    void execute_shouldDrainAllPagesUsingCursorOfLastRow() {
+        LocalDate dueDate = LocalDate.now().minusDays(1);
+        List<Subscription> firstPage = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Subscription due = new Subscription();
+            due.setId(UUID.randomUUID());
+            due.setUser(user);
+            due.setPlan(TypePlan.BASIC);
+            due.setStatus(SubscriptionStatus.ACTIVE);
+            due.setExpirationDate(dueDate);
+            due.setRenewalAttempts(0);
+            firstPage.add(due);
+        }
+        Subscription last = firstPage.get(firstPage.size() - 1);
+        RenewalCursor expectedCursor = new RenewalCursor(dueDate, last.getId());
+
+        when(subscriptionRepositoryPort.claimSubscriptionsToRenew(any(LocalDate.class), isNull(), anyInt())).thenReturn(firstPage);
+        when(subscriptionRepositoryPort.claimSubscriptionsToRenew(any(LocalDate.class), eq(expectedCursor), anyInt())).thenReturn(List.of(subscription));
+        when(subscriptionRepositoryPort.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Subscription> renewed = useCase.execute();
+
+        assertThat(renewed).hasSize(101);
+        verify(subscriptionRepositoryPort, times(2)).claimSubscriptionsToRenew(any(LocalDate.class), any(), anyInt());
+        verify(paymentPort, times(101)).debitAmount(any(), any(), any(), any());
     }
 }
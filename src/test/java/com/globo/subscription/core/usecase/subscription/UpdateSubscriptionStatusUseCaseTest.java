@@ -8,7 +8,6 @@ import com.globo.subscription.core.port.out.subscription.ActiveSubscriptionCache
 import com.globo.subscription.core.port.out.subscription.SubscriptionRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
 import java.util.Optional;
@@ -45,42 +44,55 @@ class UpdateSubscriptionStatusUseCaseTest {
 
         UUID id = UUID.randomUUID();
         Subscription subscription = new Subscription();
-        subscription.setStatus(SubscriptionStatus.PENDING);
+        subscription.setStatus(SubscriptionStatus.ACTIVE);
         User user = new User();
         user.setId(UUID.randomUUID());
         subscription.setUser(user);
-        when(repositoryPort.findById(id)).thenReturn(Optional.of(subscription));
-        when(repositoryPort.save(any(Subscription.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repositoryPort.transitionStatus(id, SubscriptionStatus.ACTIVE)).thenReturn(Optional.of(subscription));
 
         useCase.execute(id, "ACTIVE");
 
-        ArgumentCaptor<Subscription> captor = ArgumentCaptor.forClass(Subscription.class);
-        verify(repositoryPort).save(captor.capture());
-        assertEquals(SubscriptionStatus.ACTIVE, captor.getValue().getStatus());
-        verify(activeSubscriptionCachePort).putActiveSubscription(eq(user.getId()), eq(captor.getValue()), anyLong());
+        verify(repositoryPort, never()).findById(any());
+        verify(repositoryPort, never()).save(any());
+        verify(activeSubscriptionCachePort).putActiveSubscription(eq(user.getId()), eq(subscription), anyLong());
     }
 
     @Test
     void shouldThrowIfSubscriptionNotFound() {
         UUID id = UUID.randomUUID();
+        when(repositoryPort.transitionStatus(id, SubscriptionStatus.ACTIVE)).thenReturn(Optional.empty());
         when(repositoryPort.findById(id)).thenReturn(Optional.empty());
         assertThrows(SubscriptionNotFoundException.class, () -> useCase.execute(id, "ACTIVE"));
+        verify(activeSubscriptionCachePort, never()).putActiveSubscription(any(), any(), anyLong());
     }
 
     @Test
     void shouldUpdateStatusToSuspended() {
         UUID id = UUID.randomUUID();
         Subscription subscription = new Subscription();
-        subscription.setStatus(SubscriptionStatus.PENDING);
+        subscription.setStatus(SubscriptionStatus.SUSPENDED);
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        subscription.setUser(user);
+        when(repositoryPort.transitionStatus(id, SubscriptionStatus.SUSPENDED)).thenReturn(Optional.of(subscription));
+        useCase.execute(id, "suspended");
+        verify(activeSubscriptionCachePort).putActiveSubscription(eq(user.getId()), eq(subscription), anyLong());
+    }
+
+    @Test
+    void shouldRefreshCacheWithoutUpdatingWhenStatusIsUnchanged() {
+        UUID id = UUID.randomUUID();
+        Subscription subscription = new Subscription();
+        subscription.setStatus(SubscriptionStatus.ACTIVE);
         User user = new User();
         user.setId(UUID.randomUUID());
         subscription.setUser(user);
+        when(repositoryPort.transitionStatus(id, SubscriptionStatus.ACTIVE)).thenReturn(Optional.empty());
         when(repositoryPort.findById(id)).thenReturn(Optional.of(subscription));
-        when(repositoryPort.save(any(Subscription.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        useCase.execute(id, "SUSPENDED");
-        ArgumentCaptor<Subscription> captor = ArgumentCaptor.forClass(Subscription.class);
-        verify(repositoryPort).save(captor.capture());
-        assertEquals(SubscriptionStatus.SUSPENDED, captor.getValue().getStatus());
-        verify(activeSubscriptionCachePort).putActiveSubscription(eq(user.getId()), eq(captor.getValue()), anyLong());
+
+        useCase.execute(id, "ACTIVE");
+
+        assertEquals(SubscriptionStatus.ACTIVE, subscription.getStatus());
+        verify(activeSubscriptionCachePort).putActiveSubscription(eq(user.getId()), eq(subscription), anyLong());
     }
 }
@@ -2,6 +2,7 @@ package com.globo.subscription.core.usecase.user;
 
 import com.globo.subscription.core.exception.UserNotFoundException;
 import com.globo.subscription.core.port.out.user.UserRepositoryPort;
+import com.globo.subscription.core.port.out.wallet.WalletCachePort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -18,6 +19,8 @@ class DeleteUserUseCaseTest {
 
     @Mock
     private UserRepositoryPort userRepositoryPort;
+    @Mock
+    private WalletCachePort walletCachePort;
     @InjectMocks
     private DeleteUserUseCase useCase;
 
@@ -35,6 +38,7 @@ class DeleteUserUseCaseTest {
         doNothing().when(userRepositoryPort).delete(userId);
         useCase.execute(userId);
         verify(userRepositoryPort).delete(userId);
+        verify(walletCachePort).evictWallet(userId);
     }
 
     @Test
@@ -44,5 +48,6 @@ class DeleteUserUseCaseTest {
                 .isInstanceOf(UserNotFoundException.class)
                 .hasMessageContaining(userId.toString());
         verify(userRepositoryPort, never()).delete(any());
+        verify(walletCachePort, never()).evictWallet(any());
     }
 }